@@ -0,0 +1,71 @@
+package com.cpt202.dailyreadingtracker.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.cpt202.dailyreadingtracker.readinglog.ReadingLog;
+import com.cpt202.dailyreadingtracker.seed.SyntheticText;
+import com.cpt202.dailyreadingtracker.user.User;
+
+/**
+ * Builds in-memory reading logs for the JMH benchmarks.
+ * <p>
+ * The same count and seed always give the same data, so results stay comparable between runs.
+ * </p>
+ */
+
+public final class BenchmarkData {
+
+    public static final long SEED = 20240601L;
+
+    private static final int LOGS_PER_USER = 100;
+    private static final int TITLE_COUNT = 500;
+    private static final int DAYS_OF_HISTORY = 3 * 365;
+
+    private BenchmarkData() {}
+
+    public static List<ReadingLog> readingLogs(int count) {
+        return readingLogs(count, SEED);
+    }
+
+    public static List<ReadingLog> readingLogs(int count, long seed) {
+        Random random = new Random(seed);
+        LocalDate today = LocalDate.now();
+        List<User> users = new ArrayList<>();
+        List<ReadingLog> logs = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            if (i % LOGS_PER_USER == 0) {
+                User user = new User();
+                user.setId(users.size() + 1L);
+                user.setUsername("reader" + users.size());
+                user.setEmail("reader" + users.size() + "@example.com");
+                users.add(user);
+            }
+
+            int book = random.nextInt(TITLE_COUNT);
+            int totalPages = 100 + (book * 7) % 600;
+            LocalDate date = today.minusDays(random.nextInt(DAYS_OF_HISTORY));
+
+            ReadingLog log = new ReadingLog();
+            log.setId(i + 1L);
+            log.setUser(users.get(users.size() - 1));
+            log.setTitle(SyntheticText.title(book));
+            log.setAuthor("Author " + book % 97);
+            log.setDate(date);
+            log.setTimeSpent(5 + random.nextInt(176));
+            log.setTotalPages(totalPages);
+            log.setCurrentPage(1 + random.nextInt(totalPages));
+            log.setNotes(random.nextInt(4) == 0 ? null : SyntheticText.sentence(random));
+            log.setCreatedAt(date.atStartOfDay());
+            log.setUpdatedAt(LocalDateTime.of(date, LocalTime.NOON));
+            logs.add(log);
+        }
+
+        return logs;
+    }
+}
@@ -0,0 +1,56 @@
+package com.cpt202.dailyreadingtracker.readinglog;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.cpt202.dailyreadingtracker.benchmark.BenchmarkData;
+
+// Measures the in-memory filtering behind /sorted_loglist_allusers/filter
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AllUserLogFilterBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int logCount;
+
+    private AllUserLogController allUserLogController;
+    private List<ReadingLog> logs;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Setup
+    public void setUp() {
+        allUserLogController = new AllUserLogController(null, null, null);
+        logs = BenchmarkData.readingLogs(logCount);
+        endDate = LocalDate.now();
+        startDate = endDate.minusMonths(6);
+    }
+
+    @Benchmark
+    public List<ReadingLog> filterByQuery() {
+        return allUserLogController.applyFiltersInMemory(logs, "winter", null, null, null, null);
+    }
+
+    @Benchmark
+    public List<ReadingLog> filterByAllCriteria() {
+        return allUserLogController.applyFiltersInMemory(logs, "winter", startDate, endDate, 30, 120);
+    }
+}
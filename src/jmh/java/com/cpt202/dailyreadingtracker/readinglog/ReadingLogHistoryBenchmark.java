@@ -0,0 +1,53 @@
+package com.cpt202.dailyreadingtracker.readinglog;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.cpt202.dailyreadingtracker.benchmark.BenchmarkData;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// Measures the sort and DTO mapping in ReadingLogService.getLogHistory; the repository returns a prepared list
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReadingLogHistoryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int logCount;
+
+    private ReadingLogService readingLogService;
+
+    @Setup
+    public void setUp() {
+        List<ReadingLog> logs = BenchmarkData.readingLogs(logCount);
+
+        ReadingLogRepository readingLogRepository = mock(ReadingLogRepository.class, withSettings().stubOnly());
+        when(readingLogRepository.findByUserIdAndTitleIgnoreCaseAndAuthorIgnoreCase(anyLong(), anyString(), anyString()))
+            .thenReturn(logs);
+
+        readingLogService = new ReadingLogService(readingLogRepository, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public List<ReadingLogHistoryDto> getLogHistory() {
+        return readingLogService.getLogHistory(1L, "The Silent of River 0", "Author 0", 1L);
+    }
+}
@@ -0,0 +1,53 @@
+package com.cpt202.dailyreadingtracker.readingstatistics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.cpt202.dailyreadingtracker.benchmark.BenchmarkData;
+import com.cpt202.dailyreadingtracker.readinglog.ReadingLog;
+
+// Measures the in-memory statistics calculation behind /api/reading-statistics and the dashboard
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReadingStatisticsBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int logCount;
+
+    private ReadingStatisticsService readingStatisticsService;
+    private List<ReadingLog> logs;
+
+    @Setup
+    public void setUp() {
+        readingStatisticsService = new ReadingStatisticsService(null, null, null);
+        logs = BenchmarkData.readingLogs(logCount);
+    }
+
+    @Benchmark
+    public Map<String, Object> calculateTotalStatistics() {
+        return readingStatisticsService.calculateStatistics(logs);
+    }
+
+    @Benchmark
+    public Map<String, Object> calculateLastMonthStatistics() {
+        return readingStatisticsService.calculateStatisticsForPeriod(logs, "last_month");
+    }
+}
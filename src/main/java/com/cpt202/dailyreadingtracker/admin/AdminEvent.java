@@ -0,0 +1,21 @@
+package com.cpt202.dailyreadingtracker.admin;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Activity notification pushed to admins connected to the moderation feed
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminEvent {
+
+    private long id;
+    private String type;
+    private Map<String, Object> data;
+    private LocalDateTime occurredAt;
+}
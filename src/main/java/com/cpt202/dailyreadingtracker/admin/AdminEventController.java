@@ -0,0 +1,32 @@
+package com.cpt202.dailyreadingtracker.admin;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST controller streaming reading log and moderation activity to admins.
+ * <p>
+ * Provides endpoints for:
+ * <ul>
+ *     <li>Subscribing to the admin event feed over Server-Sent Events</li>
+ *     <li>Resuming the feed from the last received event after a reconnect</li>
+ * </ul>
+ * <p>
+ */
+
+@RestController
+@RequiredArgsConstructor
+public class AdminEventController {
+
+    private final AdminEventService adminEventService;
+
+    @GetMapping(path = "/admin/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        return adminEventService.subscribe(lastEventId);
+    }
+}
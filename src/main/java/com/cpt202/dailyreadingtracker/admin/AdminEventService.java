@@ -0,0 +1,240 @@
+package com.cpt202.dailyreadingtracker.admin;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.cpt202.dailyreadingtracker.readinglog.ReadingLog;
+import com.cpt202.dailyreadingtracker.violationlog.ViolationLog;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Service responsible for the admin moderation event feed.
+ * <ul>
+ *     <li>Record reading log and moderation activity in a bounded in-memory ring buffer</li>
+ *     <li>Push new events to connected admins over Server-Sent Events</li>
+ *     <li>Replay missed events to admins reconnecting with a last event ID</li>
+ * </ul>
+ */
+
+@Service
+public class AdminEventService {
+
+    public static final String LOG_CREATED = "log-created";
+    public static final String LOG_UPDATED = "log-updated";
+    public static final String LOG_DELETED = "log-deleted";
+    public static final String LOG_FLAGGED = "log-flagged";
+    public static final String LOG_RESTORED = "log-restored";
+    public static final String RESYNC = "resync";
+
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    private final AdminEvent[] buffer;
+    private long nextEventId = 1;
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "admin-event-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminEventService.class);
+
+    public AdminEventService(@Value("${app.admin-events.buffer-size:1000}") int bufferSize) {
+        if (bufferSize <= 0)
+            throw new IllegalArgumentException("Admin event buffer size must be positive");
+
+        this.buffer = new AdminEvent[bufferSize];
+    }
+
+    /**
+     * Publishes a reading log created or updated event.
+     *
+     * @param type the event type ({@link #LOG_CREATED} or {@link #LOG_UPDATED})
+     * @param log  the affected reading log
+     */
+    public void publishLogChange(String type, ReadingLog log) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("logId", log.getId());
+        data.put("log", toLogMap(log));
+        publish(type, data);
+    }
+
+    /**
+     * Publishes a reading log deleted event.
+     *
+     * @param logId the ID of the deleted reading log
+     */
+    public void publishLogDeleted(Long logId) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("logId", logId);
+        publish(LOG_DELETED, data);
+    }
+
+    /**
+     * Publishes an event for a reading log moved into the violation logs.
+     *
+     * @param violationLog the violation log created for the flagged reading log
+     */
+    public void publishLogFlagged(ViolationLog violationLog) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("logId", violationLog.getId());
+        data.put("violationLog", violationLog);
+        publish(LOG_FLAGGED, data);
+    }
+
+    /**
+     * Publishes an event for a violation log restored back to the reading logs.
+     *
+     * @param violationLogId the ID of the removed violation log
+     * @param restoredLog    the reading log recreated from it
+     */
+    public void publishLogRestored(Long violationLogId, ReadingLog restoredLog) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("violationLogId", violationLogId);
+        data.put("logId", restoredLog.getId());
+        data.put("log", toLogMap(restoredLog));
+        publish(LOG_RESTORED, data);
+    }
+
+    /**
+     * Records an event and pushes it to connected admins.
+     * Inside a transaction the event is held back until commit, so rolled back changes are never announced.
+     *
+     * @param type the event type
+     * @param data the event payload
+     */
+    public void publish(String type, Map<String, Object> data) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(type, data);
+                }
+            });
+        } else {
+            record(type, data);
+        }
+    }
+
+    /**
+     * Opens a new event stream for an admin, replaying any buffered events after the given ID.
+     *
+     * @param lastEventId the ID of the last event the client received (optional)
+     * @return the emitter backing the event stream
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+
+        // Under the lock record() holds while queueing, so every event is either in the backlog or fanned out
+        // to this emitter, and the backlog is queued ahead of anything newer
+        synchronized (this) {
+            List<AdminEvent> backlog = lastEventId != null ? eventsAfter(lastEventId) : List.of();
+            emitters.add(emitter);
+
+            dispatcher.execute(() -> {
+                for (AdminEvent event : backlog) {
+                    if (!send(emitter, event))
+                        return;
+                }
+            });
+        }
+
+        return emitter;
+    }
+
+    /**
+     * Retrieves the buffered events after the given ID, oldest first.
+     * If events have already been evicted from the buffer, a single {@link #RESYNC} event is returned
+     * so the client knows to reload its lists in full.
+     *
+     * @param lastEventId the ID of the last event the client received
+     * @return the events the client has missed
+     */
+    public synchronized List<AdminEvent> eventsAfter(long lastEventId) {
+        long oldestId = Math.max(1, nextEventId - buffer.length);
+
+        if (lastEventId + 1 < oldestId)
+            return List.of(new AdminEvent(nextEventId - 1, RESYNC, Map.of(), LocalDateTime.now()));
+
+        List<AdminEvent> missed = new ArrayList<>();
+        for (long id = Math.max(lastEventId + 1, oldestId); id < nextEventId; id++) {
+            missed.add(buffer[(int) (id % buffer.length)]);
+        }
+
+        return missed;
+    }
+
+    private synchronized void record(String type, Map<String, Object> data) {
+        AdminEvent event = new AdminEvent(nextEventId, type, data, LocalDateTime.now());
+        buffer[(int) (nextEventId % buffer.length)] = event;
+        nextEventId++;
+
+        // Queued in ID order; the dispatcher reads the subscribers when it runs, not now
+        if (!emitters.isEmpty()) {
+            dispatcher.execute(() -> emitters.forEach(emitter -> send(emitter, event)));
+        }
+    }
+
+    private boolean send(SseEmitter emitter, AdminEvent event) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(event.getId()))
+                    .name(event.getType())
+                    .data(event));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Dropping admin event subscriber: {}", e.getMessage());
+            emitters.remove(emitter);
+            return false;
+        } catch (RuntimeException e) {
+            // Such as an event that could not be serialized; the other subscribers still get it, and this one
+            // is closed so the client reconnects and replays from its last event ID
+            logger.warn("Dropping admin event subscriber after failing to send event {}", event.getId(), e);
+            emitters.remove(emitter);
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private Map<String, Object> toLogMap(ReadingLog log) {
+        Map<String, Object> logMap = new LinkedHashMap<>();
+        logMap.put("id", log.getId());
+        logMap.put("title", log.getTitle());
+        logMap.put("author", log.getAuthor());
+        logMap.put("createdAt", log.getCreatedAt());
+        logMap.put("date", log.getDate());
+        logMap.put("timeSpent", log.getTimeSpent());
+        logMap.put("currentPage", log.getCurrentPage());
+        logMap.put("totalPages", log.getTotalPages());
+        logMap.put("notes", log.getNotes());
+        logMap.put("userName", log.getUser() != null ? log.getUser().getUsername() : "System");
+        return logMap;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        emitters.forEach(SseEmitter::complete);
+        dispatcher.shutdownNow();
+    }
+}
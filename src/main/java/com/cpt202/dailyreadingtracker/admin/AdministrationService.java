@@ -2,8 +2,10 @@ package com.cpt202.dailyreadingtracker.admin;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.data.domain.Sort;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.stereotype.Service;
 
 import com.cpt202.dailyreadingtracker.role.Role;
@@ -12,6 +14,7 @@ import com.cpt202.dailyreadingtracker.user.User;
 import com.cpt202.dailyreadingtracker.user.UserRepository;
 import com.cpt202.dailyreadingtracker.utils.EmailService;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 
@@ -24,15 +27,18 @@ import lombok.RequiredArgsConstructor;
  *     <li>Promote users to admin roles</li>
  *     <li>Demote users from admin roles</li>
  * </ul>
+ * Each change evicts the affected users from the authentication cache so it applies at their next login.
  */
 
 @Service
+@Timed("app.service")
 @RequiredArgsConstructor
 public class AdministrationService {
 
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final EmailService emailService;
+    private final UserCache userCache;
 
     /**
      * Retrieves a list of users sorted by the specified field and direction.
@@ -53,11 +59,12 @@ public class AdministrationService {
      */
     @Transactional
     public void freezeUserByIds(List<Long> UserIds) {
-        List<User> users = userRepository.findAllById(UserIds);
+        List<User> users = userRepository.findAllWithRolesByIdIn(UserIds);
         for(User user: users){
             user.freezeUser();
             emailService.sendAccountFrozenEmail(user);
             userRepository.save(user);
+            userCache.removeUserFromCache(user.getEmail());
         }
     }
 
@@ -68,10 +75,11 @@ public class AdministrationService {
      */
     @Transactional
     public void unfreezeUserByIds(List<Long> UserIds) {
-        List<User> users = userRepository.findAllById(UserIds);
+        List<User> users = userRepository.findAllWithRolesByIdIn(UserIds);
         for(User user: users){
             user.unfreezeUser();
             userRepository.save(user);
+            userCache.removeUserFromCache(user.getEmail());
         }
     }
 
@@ -89,17 +97,11 @@ public class AdministrationService {
             });
 
 
-        for (Long userId : userIds) {
-            User user = userRepository.findById(userId).orElse(null);
-            if (user != null) {
-
-                if (user.getRoles() == null)
-                    user.setRoles(new HashSet<>());
-                else user.getRoles().clear();
-
-                user.getRoles().add(adminRole);
-                userRepository.save(user);
-            }
+        // Replacing the set, rather than clearing it, lets Hibernate batch the role deletes and inserts
+        for (User user : userRepository.findAllWithRolesByIdIn(userIds)) {
+            user.setRoles(new HashSet<>(Set.of(adminRole)));
+            userRepository.save(user);
+            userCache.removeUserFromCache(user.getEmail());
         }
     }
 
@@ -119,17 +121,11 @@ public class AdministrationService {
             userRole = roleRepository.save(userRole);
         }
 
-        for (Long userId : userIds) {
-            User user = userRepository.findById(userId).orElse(null);
-
-            if (user != null) {
-                if (user.getRoles() == null)
-                    user.setRoles(new HashSet<>());
-                else user.getRoles().clear();
-
-                user.getRoles().add(userRole);
-                userRepository.save(user);
-            }
+        // Replacing the set, rather than clearing it, lets Hibernate batch the role deletes and inserts
+        for (User user : userRepository.findAllWithRolesByIdIn(userIds)) {
+            user.setRoles(new HashSet<>(Set.of(userRole)));
+            userRepository.save(user);
+            userCache.removeUserFromCache(user.getEmail());
         }
     }
 }
@@ -0,0 +1,88 @@
+package com.cpt202.dailyreadingtracker.auth;
+
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.cpt202.dailyreadingtracker.security.BoundedPasswordEncoder.PasswordHashingBusyException;
+import com.cpt202.dailyreadingtracker.security.LoginThrottle.LoginThrottledException;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Controller issuing tokens for the stateless API authentication mode.
+ * <p>
+ * Provides endpoints for:
+ * <ul>
+ *     <li>Logging in with email and password to obtain an access and refresh token</li>
+ *     <li>Rotating a refresh token for a new token pair</li>
+ * </ul>
+ * Only registered when {@code app.security.api-tokens.enabled=true}.
+ * <p>
+ */
+
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.security.api-tokens.enabled", havingValue = "true")
+public class ApiTokenController {
+
+    private final ApiTokenService apiTokenService;
+
+    @PostMapping("/token")
+    public ResponseEntity<Map<String, Object>> issueToken(@RequestBody Map<String, String> credentials) {
+        String email = credentials.get("email");
+        String password = credentials.get("password");
+
+        if (email == null || email.isBlank() || password == null)
+            return ResponseEntity.badRequest().body(Map.of("error", "Email and password are required"));
+
+        try {
+            return tokens(apiTokenService.login(email, password));
+        } catch (PasswordHashingBusyException e) {
+            return busy();
+        } catch (LoginThrottledException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of("error", "Too many failed login attempts, please try again later"));
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Invalid credentials"));
+        }
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<Map<String, Object>> refreshToken(@RequestBody Map<String, String> request) {
+        String refreshToken = request.get("refreshToken");
+
+        if (refreshToken == null || refreshToken.isBlank())
+            return ResponseEntity.badRequest().body(Map.of("error", "Refresh token is required"));
+
+        try {
+            return tokens(apiTokenService.refresh(refreshToken));
+        } catch (LockedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Account is frozen"));
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private static ResponseEntity<Map<String, Object>> busy() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(PasswordHashingBusyException.RETRY_AFTER_SECONDS))
+            .body(Map.of("error", "Server is busy, please try again"));
+    }
+
+    private static ResponseEntity<Map<String, Object>> tokens(Map<String, Object> tokens) {
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(tokens);
+    }
+}
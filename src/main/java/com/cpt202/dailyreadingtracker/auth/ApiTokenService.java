@@ -0,0 +1,149 @@
+package com.cpt202.dailyreadingtracker.auth;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import com.cpt202.dailyreadingtracker.security.CustomUserDetailsService.AccountFrozenException;
+import com.cpt202.dailyreadingtracker.user.User;
+import com.cpt202.dailyreadingtracker.user.UserRepository;
+import com.cpt202.dailyreadingtracker.utils.JWTTokenUtil;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+
+/**
+ * Service responsible for the stateless authentication mode of the REST API.
+ * <ul>
+ *     <li>Issue a short-lived access token and a refresh token when an API client logs in</li>
+ *     <li>Rotate refresh tokens: each one can be used once and is replaced by a new pair</li>
+ *     <li>Revoke every refresh token of a user when a used one is presented again</li>
+ * </ul>
+ * Access tokens carry the user's roles and are checked without touching the database, so a freeze or
+ * role change applies at the next refresh, at most {@code app.security.api-tokens.access-ttl} later.
+ */
+
+@Service
+@ConditionalOnProperty(name = "app.security.api-tokens.enabled", havingValue = "true")
+public class ApiTokenService {
+
+    public static final String TOKEN_TYPE_CLAIM = "typ";
+    public static final String ROLES_CLAIM = "roles";
+    public static final String ACCESS_TOKEN = "access";
+    public static final String REFRESH_TOKEN = "refresh";
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiTokenService.class);
+
+    private final AuthenticationManager authenticationManager;
+    private final UserDetailsService userDetailsService;
+    private final UserRepository userRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JWTTokenUtil jwtTokenUtil;
+    private final Duration accessTokenTtl;
+    private final Duration refreshTokenTtl;
+
+    public ApiTokenService(AuthenticationManager authenticationManager, UserDetailsService userDetailsService,
+                           UserRepository userRepository, RefreshTokenRepository refreshTokenRepository,
+                           JWTTokenUtil jwtTokenUtil,
+                           @Value("${app.security.api-tokens.access-ttl:5m}") Duration accessTokenTtl,
+                           @Value("${app.security.api-tokens.refresh-ttl:14d}") Duration refreshTokenTtl) {
+        this.authenticationManager = authenticationManager;
+        this.userDetailsService = userDetailsService;
+        this.userRepository = userRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jwtTokenUtil = jwtTokenUtil;
+        this.accessTokenTtl = accessTokenTtl;
+        this.refreshTokenTtl = refreshTokenTtl;
+    }
+
+    /**
+     * Authenticates an API client and issues its first token pair.
+     *
+     * @param email    the user's email
+     * @param password the user's password
+     * @return the access token, refresh token, token type and access token lifetime in seconds
+     * @throws org.springframework.security.core.AuthenticationException if the credentials are rejected
+     */
+    public Map<String, Object> login(String email, String password) {
+        Authentication authentication = authenticationManager.authenticate(
+            UsernamePasswordAuthenticationToken.unauthenticated(email, password));
+
+        return issueTokens((UserDetails) authentication.getPrincipal());
+    }
+
+    /**
+     * Exchanges a refresh token for a new token pair. The presented token cannot be used again.
+     *
+     * @param refreshToken the refresh token from the previous login or refresh
+     * @return the new token pair, as for {@link #login(String, String)}
+     * @throws BadCredentialsException if the token is invalid, expired or already used
+     * @throws LockedException         if the account has been frozen since the token was issued
+     */
+    public Map<String, Object> refresh(String refreshToken) {
+        Claims claims;
+        try {
+            claims = jwtTokenUtil.parse(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+
+        if (!REFRESH_TOKEN.equals(claims.get(TOKEN_TYPE_CLAIM, String.class)) || claims.getId() == null)
+            throw new BadCredentialsException("Invalid refresh token");
+
+        if (refreshTokenRepository.deleteUnexpiredByTokenId(claims.getId(), LocalDateTime.now()) == 0) {
+            // A correctly signed token that is no longer stored has been used before, so treat it as leaked
+            int revoked = refreshTokenRepository.deleteAllByUserEmail(claims.getSubject());
+            logger.warn("Reused refresh token for {}, revoked {} refresh tokens", claims.getSubject(), revoked);
+            throw new BadCredentialsException("Refresh token already used");
+        }
+
+        try {
+            return issueTokens(userDetailsService.loadUserByUsername(claims.getSubject()));
+        } catch (AccountFrozenException e) {
+            throw new LockedException("Account is frozen", e);
+        }
+    }
+
+    private Map<String, Object> issueTokens(UserDetails userDetails) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+            .orElseThrow(() -> new UsernameNotFoundException(userDetails.getUsername()));
+
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.deleteExpiredByUser(user, now);
+
+        String tokenId = UUID.randomUUID().toString();
+        refreshTokenRepository.save(new RefreshToken(tokenId, user, now.plus(refreshTokenTtl)));
+
+        List<String> roles = userDetails.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .toList();
+
+        Map<String, Object> tokens = new LinkedHashMap<>();
+        tokens.put("accessToken", jwtTokenUtil.generateToken(user.getEmail(),
+            Map.of(TOKEN_TYPE_CLAIM, ACCESS_TOKEN, ROLES_CLAIM, roles), accessTokenTtl));
+        tokens.put("refreshToken", jwtTokenUtil.generateToken(user.getEmail(),
+            Map.of(TOKEN_TYPE_CLAIM, REFRESH_TOKEN, Claims.ID, tokenId), refreshTokenTtl));
+        tokens.put("tokenType", "Bearer");
+        tokens.put("expiresIn", accessTokenTtl.toSeconds());
+
+        return tokens;
+    }
+}
@@ -1,7 +1,5 @@
 package com.cpt202.dailyreadingtracker.auth;
 
-import java.io.IOException;
-
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.core.Authentication;
@@ -17,7 +15,6 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import com.cpt202.dailyreadingtracker.security.SecurityService;
 import com.cpt202.dailyreadingtracker.user.User;
 import com.cpt202.dailyreadingtracker.user.UserRepository;
-import com.cpt202.dailyreadingtracker.utils.FileStorageService;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -48,7 +45,6 @@ public class AuthController {
     private final AuthService authService;
     private final SecurityService securityService;
     private final UserRepository userRepository;
-    private final FileStorageService fileStorageService;
 
     @GetMapping("/auth")
     public String getAuthPage(Model model, @RequestParam(required = false) String error,
@@ -93,16 +89,6 @@ public class AuthController {
     public String processRegistration(@Valid @ModelAttribute("user") User user, BindingResult result,
                                     @RequestParam(required = false) MultipartFile avatar, HttpServletRequest request, 
                                     RedirectAttributes redirectAttributes, Model model) {
-        if (!avatar.isEmpty()) {
-            try {
-                fileStorageService.validateFile(avatar);
-            } catch (IOException e) {
-                String errorMessage = e.getMessage().contains("JPG format") ? e.getMessage() 
-                                                                          : "Invalid image file: " + e.getMessage();
-                result.rejectValue("avatarFile", "file.error", errorMessage);
-            }
-        }
-
         if (user.getConfirmPassword() == null || user.getConfirmPassword().isEmpty())
             result.rejectValue("confirmPassword", "NotEmpty", 
                         "Password confirmation is required");
@@ -116,14 +102,16 @@ public class AuthController {
         if (userRepository.existsByUsername(user.getUsername()))
             result.rejectValue("username", "Duplicate", "Taken");
 
-        if (result.hasErrors()) {
-            model.addAttribute("defaultToRegister", true);
-            model.addAttribute("showRegisterForm", true);
-            model.addAttribute("containerClass", "sign-up-mode");
-            return "auth/authentication";
+        if (result.hasErrors())
+            return showRegisterForm(model);
+
+        // The avatar is checked as it is stored, so it is read only once
+        try {
+            authService.register(user, avatar, request);
+        } catch (AuthService.AvatarRejectedException e) {
+            result.rejectValue("avatarFile", "file.error", e.getMessage());
+            return showRegisterForm(model);
         }
-        
-        authService.register(user, avatar, request);
         return "redirect:/verification-pending?email=" + user.getEmail();
     }
 
@@ -151,5 +139,11 @@ public class AuthController {
 
         return "redirect:/auth?logout=true";
     }
-    
+
+    private static String showRegisterForm(Model model) {
+        model.addAttribute("defaultToRegister", true);
+        model.addAttribute("showRegisterForm", true);
+        model.addAttribute("containerClass", "sign-up-mode");
+        return "auth/authentication";
+    }
 }
@@ -3,15 +3,17 @@ package com.cpt202.dailyreadingtracker.auth;
 import java.io.IOException;
 import java.util.HashSet;
 
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.cpt202.dailyreadingtracker.role.Role;
 import com.cpt202.dailyreadingtracker.role.RoleRepository;
+import com.cpt202.dailyreadingtracker.security.BoundedPasswordEncoder.PasswordHashingBusyException;
 import com.cpt202.dailyreadingtracker.user.User;
 import com.cpt202.dailyreadingtracker.user.UserRepository;
 import com.cpt202.dailyreadingtracker.utils.FileStorageService;
+import com.cpt202.dailyreadingtracker.utils.UploadInputStream.UploadRejectedException;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.transaction.Transactional;
@@ -35,7 +37,7 @@ public class AuthService {
 
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder encoder;
+    private final PasswordEncoder encoder;
     private final FileStorageService fileStorageService;
     
     /**
@@ -44,6 +46,7 @@ public class AuthService {
      * @param user    the user object containing registration details
      * @param avatar  the user's avatar file (optional)
      * @param request the HTTP request object for generating verification links
+     * @throws AvatarRejectedException if the avatar is too large or not a supported image
      * @throws RegistrationException if registration fails due to user existence, password mismatch, or other issues
      * @throws EmailVerificationException if email verification fails
      */
@@ -64,6 +67,8 @@ public class AuthService {
                 try {
                     String avatarFilename = fileStorageService.storeAvatar(avatar, user.getUsername());
                     user.setAvatarFileName(avatarFilename);
+                } catch (UploadRejectedException e) {
+                    throw new AvatarRejectedException(e.getMessage(), e);
                 } catch (IOException e) {
                     throw new RuntimeException("Failed to store avatar", e);
                 }
@@ -102,6 +107,8 @@ public class AuthService {
                     throw new EmailVerificationException("Failed to send verification email", e);
                 }
             }
+        } catch (PasswordHashingBusyException | AvatarRejectedException e) {
+            throw e;
         } catch (RuntimeException e) {
             throw new RegistrationException("Registration failed: " + e.getMessage(), e);
         }            
@@ -120,6 +127,15 @@ public class AuthService {
         }
     }
 
+    /**
+     * Exception thrown when the avatar sent with a registration is refused, such as for its size or format.
+     */
+    public static class AvatarRejectedException extends RuntimeException {
+        public AvatarRejectedException(String message, Throwable cause){
+            super(message, cause);
+        }
+    }
+
     /**
      * Exception thrown when email verification fails.
      */
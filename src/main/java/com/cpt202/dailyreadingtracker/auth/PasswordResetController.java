@@ -7,9 +7,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.cpt202.dailyreadingtracker.ratelimit.RateLimited;
 import com.cpt202.dailyreadingtracker.security.SecurityService;
 
-import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 
@@ -54,7 +54,7 @@ public class PasswordResetController {
      * @param redirectAttributes attributes for redirecting with messages
      * @return the redirect URL to the "Forgot Password" page
      */
-    @RateLimiter(name = "passwordResetLimiter")
+    @RateLimited("password-reset-request")
     @PostMapping("/forgot-password")
     public String requestPasswordReset(@RequestParam String email, HttpServletRequest request,
                                        RedirectAttributes redirectAttributes){
@@ -64,7 +64,7 @@ public class PasswordResetController {
         return "redirect:/forgot-password";
     }
 
-    @RateLimiter(name = "passwordResetLimiter")
+    @RateLimited("password-reset-request")
     @PostMapping("/forgot-password/resend")
     public String resendPasswordResetLink(@RequestParam String email, HttpServletRequest request, 
                                           RedirectAttributes redirectAttributes) {
@@ -97,7 +97,7 @@ public class PasswordResetController {
         }
     }
 
-    @RateLimiter(name = "passwordResetAttemptLimiter")
+    @RateLimited("password-reset-attempt")
     @PostMapping("/reset-password")
     public String processPasswordReset(@RequestParam String token, @RequestParam String password,
                                        @RequestParam String confirmPassword, RedirectAttributes redirectAttributes) {
@@ -5,6 +5,7 @@ import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -36,6 +37,7 @@ public class PasswordResetService {
     private final PasswordResetTokenRepository passwordResetTokenRepository;
     private final EmailService emailService;
     private final JWTTokenUtil jwtTokenUtil;
+    private final UserCache userCache;
 
     private static final Logger logger = LoggerFactory.getLogger(PasswordResetService.class);
 
@@ -48,6 +50,7 @@ public class PasswordResetService {
     public void resetPassword(User user, String newPassword){
         user.setPassword(encoder.encode(newPassword));
         userRepository.save(user);
+        userCache.removeUserFromCache(user.getEmail());
     }
 
     /**
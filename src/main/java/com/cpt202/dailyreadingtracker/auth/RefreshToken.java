@@ -0,0 +1,46 @@
+package com.cpt202.dailyreadingtracker.auth;
+
+import java.time.LocalDateTime;
+
+import com.cpt202.dailyreadingtracker.user.User;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Refresh token issued to an API client. Only the token ID is stored; a row is deleted when the token is used.
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column(nullable = false, unique = true, length = 36)
+    private String tokenId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(nullable = false, name = "user_id")
+    private User user;
+
+    @Column(nullable = false)
+    private LocalDateTime expirationTime;
+
+    public RefreshToken(String tokenId, User user, LocalDateTime expirationTime) {
+        this.tokenId = tokenId;
+        this.user = user;
+        this.expirationTime = expirationTime;
+    }
+}
@@ -0,0 +1,33 @@
+package com.cpt202.dailyreadingtracker.auth;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.cpt202.dailyreadingtracker.user.User;
+
+import jakarta.transaction.Transactional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    // Returns the number of rows removed, so only one of two concurrent refreshes can claim a token
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshToken t WHERE t.tokenId = :tokenId AND t.expirationTime > :now")
+    int deleteUnexpiredByTokenId(@Param("tokenId") String tokenId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshToken t WHERE t.user.id = (SELECT u.id FROM User u WHERE u.email = :email)")
+    int deleteAllByUserEmail(@Param("email") String email);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshToken t WHERE t.user = :user AND t.expirationTime <= :now")
+    int deleteExpiredByUser(@Param("user") User user, @Param("now") LocalDateTime now);
+}
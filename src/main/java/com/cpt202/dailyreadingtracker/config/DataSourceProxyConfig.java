@@ -0,0 +1,41 @@
+package com.cpt202.dailyreadingtracker.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+// Configuration wrapping the application's DataSource with datasource-proxy so every JDBC statement,
+// from JPA or JdbcTemplate, is counted per request and logged when slow or sampled
+
+@Configuration
+public class DataSourceProxyConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(Environment environment) {
+        Duration slowThreshold = environment.getProperty("app.sql.log.slow-threshold", Duration.class,
+                Duration.ofMillis(200));
+        double sampleRate = environment.getProperty("app.sql.log.sample-rate", Double.class, 0.0);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new QueryCountListener())
+                            .listener(new SqlLoggingListener(slowThreshold, sampleRate))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package com.cpt202.dailyreadingtracker.config;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Publishes the hit ratio of each second-level cache region and of the query cache
+ * as {@code app.hibernate.cache.hit.ratio}, tagged by region.
+ * Raw hit and miss counts are already exported as {@code hibernate.second.level.cache.requests}.
+ */
+
+@Component
+public class HibernateCacheMetrics implements MeterBinder {
+
+    static final List<String> REGIONS = List.of("roles", "users", "user-roles");
+    static final String QUERY_REGION = "query";
+
+    private final Statistics statistics;
+
+    public HibernateCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : REGIONS) {
+            register(registry, region, stats -> regionHitRatio(stats, region));
+        }
+
+        register(registry, QUERY_REGION, stats -> ratio(stats.getQueryCacheHitCount(), stats.getQueryCacheMissCount()));
+    }
+
+    private void register(MeterRegistry registry, String region, ToDoubleFunction<Statistics> hitRatio) {
+        Gauge.builder("app.hibernate.cache.hit.ratio", statistics, hitRatio)
+                .description("Share of second-level cache lookups answered from the cache")
+                .tag("region", region)
+                .register(registry);
+    }
+
+    // Hibernate rejects lookups of regions it did not build, e.g. when the second-level cache is switched off
+    private static double regionHitRatio(Statistics stats, String region) {
+        try {
+            CacheRegionStatistics regionStatistics = stats.getDomainDataRegionStatistics(region);
+            return ratio(regionStatistics.getHitCount(), regionStatistics.getMissCount());
+        } catch (IllegalArgumentException e) {
+            return Double.NaN;
+        }
+    }
+
+    static double ratio(long hits, long misses) {
+        long lookups = hits + misses;
+        return lookups == 0 ? Double.NaN : (double) hits / lookups;
+    }
+}
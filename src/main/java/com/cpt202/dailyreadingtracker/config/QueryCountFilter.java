@@ -0,0 +1,153 @@
+package com.cpt202.dailyreadingtracker.config;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Counts the SQL statements each request executes.
+ * <ul>
+ *     <li>Adds a {@code Server-Timing: db;dur=...;desc="N queries"} header before the response is committed</li>
+ *     <li>Records the count as {@code app.request.queries}, tagged by endpoint pattern and method</li>
+ *     <li>Logs the count at debug level, and warns when a request exceeds the query budget
+ *         or repeats one statement often enough to suggest an N+1 pattern</li>
+ * </ul>
+ */
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int maxQueriesPerRequest;
+    private final int maxRepeatsPerStatement;
+
+    public QueryCountFilter(MeterRegistry meterRegistry,
+                            @Value("${app.sql.max-queries-per-request:30}") int maxQueriesPerRequest,
+                            @Value("${app.sql.max-repeats-per-statement:10}") int maxRepeatsPerStatement) {
+        this.meterRegistry = meterRegistry;
+        this.maxQueriesPerRequest = maxQueriesPerRequest;
+        this.maxRepeatsPerStatement = maxRepeatsPerStatement;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCounter.start();
+        ServerTimingResponse timedResponse = new ServerTimingResponse(response);
+
+        try {
+            chain.doFilter(request, timedResponse);
+        } finally {
+            QueryCounter.Stats stats = QueryCounter.stop();
+
+            if (!request.isAsyncStarted()) {
+                timedResponse.addServerTiming(stats);
+                record(request, response, stats);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, QueryCounter.Stats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("app.request.queries")
+                .description("JDBC statements executed per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getQueries());
+
+        Map.Entry<String, Integer> mostRepeated = stats.mostRepeated();
+        if (mostRepeated != null && mostRepeated.getValue() > maxRepeatsPerStatement) {
+            logger.warn("Possible N+1 in {} {}: statement executed {} times: {}",
+                    request.getMethod(), uri, mostRepeated.getValue(), mostRepeated.getKey());
+        }
+
+        if (stats.getQueries() > maxQueriesPerRequest) {
+            logger.warn("{} {} -> {} executed {} queries ({} ms), budget is {}", request.getMethod(),
+                    request.getRequestURI(), response.getStatus(), stats.getQueries(), stats.getElapsedMillis(),
+                    maxQueriesPerRequest);
+        } else {
+            logger.debug("{} {} -> {} executed {} queries ({} ms)", request.getMethod(), request.getRequestURI(),
+                    response.getStatus(), stats.getQueries(), stats.getElapsedMillis());
+        }
+    }
+
+    // Adds the Server-Timing header just before the body is written, while headers can still be set
+    private static class ServerTimingResponse extends HttpServletResponseWrapper {
+        private boolean headerAdded;
+
+        ServerTimingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming(QueryCounter.current());
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming(QueryCounter.current());
+            return super.getWriter();
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addServerTiming(QueryCounter.current());
+            super.sendRedirect(location);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTiming(QueryCounter.current());
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTiming(QueryCounter.current());
+            super.sendError(sc);
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming(QueryCounter.current());
+            super.flushBuffer();
+        }
+
+        void addServerTiming(QueryCounter.Stats stats) {
+            if (headerAdded || isCommitted()) {
+                return;
+            }
+
+            headerAdded = true;
+            addHeader("Server-Timing", String.format(Locale.ROOT, "db;dur=%d;desc=\"%d queries\"",
+                    stats.getElapsedMillis(), stats.getQueries()));
+        }
+    }
+}
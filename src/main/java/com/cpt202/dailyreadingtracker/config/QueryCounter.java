@@ -0,0 +1,59 @@
+package com.cpt202.dailyreadingtracker.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import lombok.Getter;
+
+/**
+ * Per-thread count of the JDBC statements executed while counting is open.
+ * Statements run on other threads, such as the dashboard executor, are not attributed to the caller.
+ * A JDBC batch counts as one execution.
+ */
+
+public final class QueryCounter {
+
+    private static final ThreadLocal<Stats> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {}
+
+    public static void start() {
+        CURRENT.set(new Stats());
+    }
+
+    public static Stats stop() {
+        Stats stats = current();
+        CURRENT.remove();
+        return stats;
+    }
+
+    public static Stats current() {
+        Stats stats = CURRENT.get();
+        return stats != null ? stats : new Stats();
+    }
+
+    static void record(String sql, long elapsedMillis) {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            stats.queries++;
+            stats.elapsedMillis += elapsedMillis;
+            stats.executionsBySql.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    @Getter
+    public static class Stats {
+        private int queries;
+        private long elapsedMillis;
+        private final Map<String, Integer> executionsBySql = new HashMap<>();
+
+        /**
+         * @return the statement executed most often, or {@code null} if nothing was executed
+         */
+        public Map.Entry<String, Integer> mostRepeated() {
+            return executionsBySql.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .orElse(null);
+        }
+    }
+}
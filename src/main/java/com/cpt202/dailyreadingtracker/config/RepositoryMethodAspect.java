@@ -0,0 +1,54 @@
+package com.cpt202.dailyreadingtracker.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers which Spring Data repository method the current thread is executing,
+ * so SQL logging can attribute each statement to the code that issued it.
+ */
+
+@Aspect
+@Component
+public class RepositoryMethodAspect {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object track(ProceedingJoinPoint joinPoint) throws Throwable {
+        String previous = CURRENT.get();
+        CURRENT.set(describe(joinPoint));
+
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Returns the repository method running on this thread.
+     *
+     * @return the method as {@code Repository.method}, or {@code null} outside a repository call
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    // Names the application's repository interface rather than the Spring Data base class that implements the method
+    private static String describe(ProceedingJoinPoint joinPoint) {
+        Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis());
+        String repository = interfaces.length > 0
+                ? interfaces[0].getSimpleName()
+                : joinPoint.getSignature().getDeclaringType().getSimpleName();
+
+        return repository + "." + joinPoint.getSignature().getName();
+    }
+}
@@ -0,0 +1,11 @@
+package com.cpt202.dailyreadingtracker.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Enables @Scheduled background jobs, which run on Spring Boot's auto-configured single-threaded scheduler
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
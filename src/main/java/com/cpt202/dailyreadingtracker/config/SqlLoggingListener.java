@@ -0,0 +1,101 @@
+package com.cpt202.dailyreadingtracker.config;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+/**
+ * Logs statements executed through the proxied DataSource, replacing {@code spring.jpa.show-sql}.
+ * <ul>
+ *     <li>Statements at or over the slow threshold are always logged at warn level</li>
+ *     <li>Other statements are logged at info level for a configurable sample of executions</li>
+ *     <li>Each line carries the originating repository method and the shape of the bind parameters,
+ *         their types and string lengths, but never their values</li>
+ * </ul>
+ * The logger is routed to an asynchronous appender in {@code logback-spring.xml}, so request threads never wait on output.
+ */
+
+public class SqlLoggingListener implements QueryExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlLoggingListener.class);
+
+    private final long slowThresholdMillis;
+    private final double sampleRate;
+
+    public SqlLoggingListener(Duration slowThreshold, double sampleRate) {
+        this.slowThresholdMillis = slowThreshold.toMillis();
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        boolean slow = execInfo.getElapsedTime() >= slowThresholdMillis;
+
+        if (slow) {
+            if (logger.isWarnEnabled()) {
+                logger.warn("Slow SQL {}", describe(execInfo, queryInfoList));
+            }
+        } else if (sampleRate > 0 && logger.isInfoEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            logger.info("Sampled SQL {}", describe(execInfo, queryInfoList));
+        }
+    }
+
+    private String describe(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        String origin = RepositoryMethodAspect.current();
+        String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        int executions = execInfo.isBatch() ? execInfo.getBatchSize() : 1;
+
+        return String.format("elapsed=%dms origin=%s success=%s executions=%d params=%s sql=%s",
+                execInfo.getElapsedTime(), origin != null ? origin : "-", execInfo.isSuccess(), executions,
+                parameterShape(queryInfoList), sql);
+    }
+
+    /**
+     * Describes the bind parameters of the first execution, e.g. {@code (Long, String[12], null)}.
+     *
+     * @param queryInfoList the statements of one execution
+     * @return the parameter types in index order
+     */
+    static String parameterShape(List<QueryInfo> queryInfoList) {
+        if (queryInfoList.isEmpty() || queryInfoList.get(0).getParametersList().isEmpty()) {
+            return "()";
+        }
+
+        return queryInfoList.get(0).getParametersList().get(0).stream()
+                .sorted(Comparator.comparing(SqlLoggingListener::parameterIndex))
+                .map(SqlLoggingListener::shape)
+                .collect(Collectors.joining(", ", "(", ")"));
+    }
+
+    private static int parameterIndex(ParameterSetOperation operation) {
+        Object index = operation.getArgs()[0];
+        return index instanceof Integer position ? position : Integer.MAX_VALUE;
+    }
+
+    private static String shape(ParameterSetOperation operation) {
+        if (ParameterSetOperation.isSetNullParameterOperation(operation) || operation.getArgs().length < 2
+                || operation.getArgs()[1] == null) {
+            return "null";
+        }
+
+        Object value = operation.getArgs()[1];
+        if (value instanceof CharSequence text) {
+            return "String[" + text.length() + "]";
+        }
+        return value.getClass().getSimpleName();
+    }
+}
@@ -1,23 +1,25 @@
 package com.cpt202.dailyreadingtracker.config;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.cpt202.dailyreadingtracker.ratelimit.RateLimitInterceptor;
+import com.cpt202.dailyreadingtracker.ratelimit.RateLimitProperties;
+
+import lombok.RequiredArgsConstructor;
+
 
 @Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class WebConfig implements WebMvcConfigurer{
     
-    @Value("${app.uploads.dir}")
-    private String uploadDir;
+    private final RateLimitInterceptor rateLimitInterceptor;
 
     @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        String uploadLocation = "file:" + uploadDir + (uploadDir.endsWith("/") ? "" : "/");
-        
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations(uploadLocation)
-                .setCachePeriod(3600);
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor);
     }
 }
@@ -0,0 +1,36 @@
+package com.cpt202.dailyreadingtracker.dashboard;
+
+import java.security.Principal;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST controller providing the data the progress page needs on load in a single response.
+ * <p>
+ * Provides endpoints for:
+ * <ul>
+ *     <li>Fetching the period statistics and book progress together</li>
+ * </ul>
+ * <p>
+ */
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getDashboard(Principal principal,
+                                    @RequestParam(defaultValue = "total") String period) {
+        return ResponseEntity.ok(dashboardService.getDashboard(principal.getName(), period));
+    }
+}
@@ -0,0 +1,80 @@
+package com.cpt202.dailyreadingtracker.dashboard;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import com.cpt202.dailyreadingtracker.readinglog.ReadingLog;
+import com.cpt202.dailyreadingtracker.readinglog.ReadingLogRepository;
+import com.cpt202.dailyreadingtracker.readingstatistics.ReadingStatisticsService;
+import com.cpt202.dailyreadingtracker.user.User;
+import com.cpt202.dailyreadingtracker.user.UserRepository;
+
+/**
+ * Service responsible for assembling everything the progress page needs on load.
+ * <ul>
+ *     <li>Load the user and their reading logs once as a shared snapshot</li>
+ *     <li>Compute the period statistics and book progress in parallel</li>
+ * </ul>
+ */
+
+@Service
+public class DashboardService {
+
+    private final UserRepository userRepository;
+    private final ReadingLogRepository readingLogRepository;
+    private final ReadingStatisticsService readingStatisticsService;
+    private final Executor dashboardExecutor;
+
+    public DashboardService(UserRepository userRepository, ReadingLogRepository readingLogRepository,
+                            ReadingStatisticsService readingStatisticsService,
+                            @Qualifier("dashboardExecutor") Executor dashboardExecutor) {
+        this.userRepository = userRepository;
+        this.readingLogRepository = readingLogRepository;
+        this.readingStatisticsService = readingStatisticsService;
+        this.dashboardExecutor = dashboardExecutor;
+    }
+
+    /**
+     * Builds the dashboard for the user with the given email.
+     *
+     * @param email  the email of the authenticated user
+     * @param period the time period for the statistics (e.g., "total", "last_week")
+     * @return a map containing the statistics and book progress
+     * @throws UsernameNotFoundException if the user does not exist
+     * @throws IllegalArgumentException  if the period is invalid
+     */
+    public Map<String, Object> getDashboard(String email, String period) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+
+        List<ReadingLog> logs = List.copyOf(readingLogRepository.findByUserId(user.getId()));
+
+        CompletableFuture<Map<String, Object>> stats = CompletableFuture.supplyAsync(
+                () -> readingStatisticsService.calculateStatisticsForPeriod(logs, period), dashboardExecutor);
+        CompletableFuture<Map<String, Object>> bookProgress = CompletableFuture.supplyAsync(
+                () -> readingStatisticsService.calculateBookProgress(logs), dashboardExecutor);
+
+        try {
+            CompletableFuture.allOf(stats, bookProgress).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+
+            throw e;
+        }
+
+        Map<String, Object> dashboard = new LinkedHashMap<>();
+        dashboard.put("stats", stats.join());
+        dashboard.put("bookProgress", bookProgress.join().get("bookProgress"));
+
+        return dashboard;
+    }
+}
@@ -0,0 +1,29 @@
+package com.cpt202.dailyreadingtracker.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/**
+ * Flight Recorder event for an admin filter that loads a whole table and filters it in memory.
+ */
+
+@Name("dailyreadingtracker.AdminFilterScan")
+@Label("Admin Filter Scan")
+@Category({"Daily Reading Tracker", "Administration"})
+@StackTrace(false)
+@Setter
+public class AdminFilterScanEvent extends Event {
+
+    @Label("Table")
+    private String table;
+
+    @Label("Rows Scanned")
+    private long rowsScanned;
+
+    @Label("Rows Returned")
+    private long rowsReturned;
+}
@@ -0,0 +1,31 @@
+package com.cpt202.dailyreadingtracker.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/**
+ * Flight Recorder event for an uploaded avatar being written to the upload directory.
+ */
+
+@Name("dailyreadingtracker.AvatarStore")
+@Label("Avatar Store")
+@Category({"Daily Reading Tracker", "Avatars"})
+@StackTrace(false)
+@Setter
+public class AvatarStoreEvent extends Event {
+
+    @Label("Content Type")
+    private String contentType;
+
+    @Label("Size")
+    @DataAmount
+    private long size;
+
+    @Label("Succeeded")
+    private boolean succeeded;
+}
@@ -0,0 +1,31 @@
+package com.cpt202.dailyreadingtracker.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import lombok.Setter;
+
+/**
+ * Flight Recorder event for one outgoing email, including the time spent waiting for a send permit.
+ */
+
+@Name("dailyreadingtracker.EmailSend")
+@Label("Email Send")
+@Category({"Daily Reading Tracker", "Email"})
+@StackTrace(false)
+@Setter
+public class EmailSendEvent extends Event {
+
+    @Label("Subject")
+    private String subject;
+
+    @Label("Permit Wait")
+    @Timespan(Timespan.NANOSECONDS)
+    private long permitWait;
+
+    @Label("Succeeded")
+    private boolean succeeded;
+}
@@ -0,0 +1,179 @@
+package com.cpt202.dailyreadingtracker.jfr;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+
+/**
+ * Actuator endpoint for taking Java Flight Recordings on demand.
+ * <ul>
+ *     <li>{@code GET /actuator/flightrecording} lists the recordings running in the JVM</li>
+ *     <li>{@code POST /actuator/flightrecording} starts an on-demand recording with the
+ *         {@code default} or {@code profile} settings</li>
+ *     <li>{@code GET /actuator/flightrecording/{id}} dumps a recording, including one started
+ *         with {@code -XX:StartFlightRecording}, as a {@code .jfr} file</li>
+ *     <li>{@code DELETE /actuator/flightrecording} stops the on-demand recording</li>
+ * </ul>
+ */
+
+@Component
+@Endpoint(id = "flightrecording")
+public class FlightRecordingEndpoint {
+
+    static final String RECORDING_NAME = "on-demand";
+
+    private static final List<String> SETTINGS = List.of("default", "profile");
+    private static final Duration DEFAULT_MAX_AGE = Duration.ofMinutes(30);
+    private static final int STATUS_CONFLICT = 409;
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecordingEndpoint.class);
+
+    private Recording onDemandRecording;
+
+    @ReadOperation
+    public WebEndpointResponse<List<Map<String, Object>>> recordings() {
+        if (!FlightRecorder.isAvailable()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+        }
+
+        List<Map<String, Object>> recordings = FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .map(this::describe)
+                .collect(Collectors.toList());
+
+        return new WebEndpointResponse<>(recordings);
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable String settings,
+                                                                      @Nullable Long maxAgeSeconds) {
+        if (!FlightRecorder.isAvailable()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+        }
+
+        String configurationName = settings != null ? settings : "default";
+        if (!SETTINGS.contains(configurationName) || (maxAgeSeconds != null && maxAgeSeconds <= 0)) {
+            return new WebEndpointResponse<>(Map.of("error", "settings must be one of " + SETTINGS
+                    + " and maxAgeSeconds must be positive"), WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+
+        if (onDemandRecording != null) {
+            return new WebEndpointResponse<>(describe(onDemandRecording), STATUS_CONFLICT);
+        }
+
+        try {
+            Recording newRecording = new Recording(Configuration.getConfiguration(configurationName));
+            newRecording.setName(RECORDING_NAME);
+            newRecording.setToDisk(true);
+            newRecording.setMaxAge(maxAgeSeconds != null ? Duration.ofSeconds(maxAgeSeconds) : DEFAULT_MAX_AGE);
+            newRecording.start();
+
+            onDemandRecording = newRecording;
+            logger.info("Started flight recording {} with {} settings", newRecording.getId(), configurationName);
+
+            return new WebEndpointResponse<>(describe(newRecording));
+        } catch (IOException | ParseException e) {
+            logger.error("Could not start flight recording", e);
+            return new WebEndpointResponse<>(Map.of("error", "Could not start flight recording"),
+                    WebEndpointResponse.STATUS_INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump(@Selector long id) throws IOException {
+        if (!FlightRecorder.isAvailable()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+        }
+
+        Optional<Recording> target = FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .filter(candidate -> candidate.getId() == id)
+                .findFirst();
+
+        if (target.isEmpty()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+
+        Path file = Files.createTempFile("recording-" + id + "-", ".jfr");
+        try {
+            target.get().dump(file);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        return new WebEndpointResponse<>(new TemporaryFileResource(file));
+    }
+
+    @DeleteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> stop() {
+        if (onDemandRecording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+
+        Map<String, Object> stopped = describe(onDemandRecording);
+        onDemandRecording.close();
+        onDemandRecording = null;
+        logger.info("Stopped flight recording {}", stopped.get("id"));
+
+        return new WebEndpointResponse<>(stopped);
+    }
+
+    private Map<String, Object> describe(Recording recording) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("id", recording.getId());
+        description.put("name", recording.getName());
+        description.put("state", recording.getState().name());
+        description.put("startTime", recording.getStartTime());
+        description.put("maxAge", recording.getMaxAge());
+        description.put("size", recording.getSize());
+
+        return description;
+    }
+
+    // Deletes the dumped file once the response has been streamed
+    private static class TemporaryFileResource extends FileSystemResource {
+
+        TemporaryFileResource(Path file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(getFile().toPath());
+                    }
+                }
+            };
+        }
+    }
+}
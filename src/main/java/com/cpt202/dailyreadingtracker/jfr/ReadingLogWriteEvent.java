@@ -0,0 +1,38 @@
+package com.cpt202.dailyreadingtracker.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/**
+ * Flight Recorder event for a reading log being created, updated or deleted.
+ */
+
+@Name("dailyreadingtracker.ReadingLogWrite")
+@Label("Reading Log Write")
+@Category({"Daily Reading Tracker", "Reading Logs"})
+@StackTrace(false)
+@Setter
+public class ReadingLogWriteEvent extends Event {
+
+    public static final String CREATE = "create";
+    public static final String UPDATE = "update";
+    public static final String DELETE = "delete";
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("User ID")
+    private long userId;
+
+    @Label("Log ID")
+    private long logId;
+
+    @Label("Chain Length")
+    @Description("Number of versions of the book in the user's history after a create, 0 for other operations")
+    private long chainLength;
+}
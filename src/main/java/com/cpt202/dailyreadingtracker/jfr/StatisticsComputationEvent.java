@@ -0,0 +1,32 @@
+package com.cpt202.dailyreadingtracker.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/**
+ * Flight Recorder event for one reading statistics or book progress computation.
+ */
+
+@Name("dailyreadingtracker.StatisticsComputation")
+@Label("Statistics Computation")
+@Category({"Daily Reading Tracker", "Statistics"})
+@StackTrace(false)
+@Setter
+public class StatisticsComputationEvent extends Event {
+
+    public static final String READING_TIME = "reading-time";
+    public static final String BOOK_PROGRESS = "book-progress";
+
+    @Label("Kind")
+    private String kind;
+
+    @Label("Days")
+    private long days;
+
+    @Label("Logs Scanned")
+    private long logsScanned;
+}
@@ -0,0 +1,97 @@
+package com.cpt202.dailyreadingtracker.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cpt202.dailyreadingtracker.ratelimit.RateLimitProperties.Limit;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+
+/**
+ * {@link RateLimitStore} that keeps buckets in the {@code rate_limit_buckets} table so every node draws from the
+ * same budget.
+ * <p>
+ * Each call reads the bucket row with a pessimistic write lock, refills and consumes in one short transaction.
+ * The first request for a key inserts the row; if another node inserts it at the same moment the primary key
+ * rejects one of them and that call simply retries against the existing row. Idle rows are purged every
+ * {@value #CLEANUP_INTERVAL} calls rather than on a schedule.
+ * </p>
+ */
+
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "database")
+public class DatabaseRateLimitStore implements RateLimitStore {
+
+    static final int CLEANUP_INTERVAL = 1_000;
+
+    private final RateLimitBucketRepository repository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final long idleMillis;
+    private final LongSupplier clock;
+    private final AtomicLong calls = new AtomicLong();
+
+    @Autowired
+    public DatabaseRateLimitStore(RateLimitBucketRepository repository, EntityManager entityManager,
+                                  PlatformTransactionManager transactionManager, RateLimitProperties properties) {
+        this(repository, entityManager, transactionManager, properties, System::currentTimeMillis);
+    }
+
+    DatabaseRateLimitStore(RateLimitBucketRepository repository, EntityManager entityManager,
+                           PlatformTransactionManager transactionManager, RateLimitProperties properties,
+                           LongSupplier clock) {
+        this.repository = repository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idleMillis = properties.getLongestRefillPeriod().toMillis();
+        this.clock = clock;
+    }
+
+    @Override
+    public Decision tryConsume(String key, Limit limit) {
+        if (calls.incrementAndGet() % CLEANUP_INTERVAL == 0)
+            repository.deleteIdleSince(clock.getAsLong() - idleMillis);
+
+        try {
+            return consumeInTransaction(key, limit);
+        } catch (DataIntegrityViolationException | PersistenceException e) {
+            // Another node created the bucket first; its row is now there to lock
+            return consumeInTransaction(key, limit);
+        }
+    }
+
+    @Override
+    public void refund(String key, Limit limit) {
+        transactionTemplate.executeWithoutResult(status -> repository.findForUpdate(key)
+            .ifPresent(row -> row.update(row.toTokenBucket().refill(limit, clock.getAsLong()).refund(limit))));
+    }
+
+    private Decision consumeInTransaction(String key, Limit limit) {
+        return transactionTemplate.execute(status -> {
+            long now = clock.getAsLong();
+            RateLimitBucket row = repository.findForUpdate(key).orElse(null);
+
+            TokenBucket bucket = row == null ? TokenBucket.full(limit, now) : row.toTokenBucket().refill(limit, now);
+            Decision decision = Decision.of(bucket, limit);
+            if (decision.allowed())
+                bucket = bucket.consume();
+
+            if (row == null) {
+                // persist rather than save, so a concurrent insert fails on the key instead of being merged over
+                entityManager.persist(new RateLimitBucket(key, bucket));
+                entityManager.flush();
+            } else {
+                row.update(bucket);
+            }
+            return decision;
+        });
+    }
+}
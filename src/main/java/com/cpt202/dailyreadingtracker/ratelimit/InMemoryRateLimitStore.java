@@ -0,0 +1,70 @@
+package com.cpt202.dailyreadingtracker.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.cpt202.dailyreadingtracker.ratelimit.RateLimitProperties.Limit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Node-local {@link RateLimitStore} backed by a bounded Caffeine map.
+ * <p>
+ * Each bucket is updated inside {@code compute}, which locks only the hash bin holding that key, so requests
+ * for different keys never contend. Buckets expire once they have been idle for the longest refill period,
+ * by which time they would be full again anyway. The number of live buckets is published as
+ * {@code app.rate.limit.buckets}.
+ * </p>
+ */
+
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final Cache<String, TokenBucket> buckets;
+    private final LongSupplier clock;
+
+    @Autowired
+    public InMemoryRateLimitStore(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::currentTimeMillis);
+    }
+
+    InMemoryRateLimitStore(RateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(properties.getMaxKeys())
+            .expireAfterWrite(properties.getLongestRefillPeriod().toMillis(), TimeUnit.MILLISECONDS)
+            .build();
+
+        Gauge.builder("app.rate.limit.buckets", buckets, Cache::estimatedSize)
+            .description("Token buckets currently held by the in-memory rate limiter")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Decision tryConsume(String key, Limit limit) {
+        long now = clock.getAsLong();
+        Decision[] decision = new Decision[1];
+
+        buckets.asMap().compute(key, (k, current) -> {
+            TokenBucket bucket = current == null ? TokenBucket.full(limit, now) : current.refill(limit, now);
+            decision[0] = Decision.of(bucket, limit);
+            return decision[0].allowed() ? bucket.consume() : bucket;
+        });
+
+        return decision[0];
+    }
+
+    @Override
+    public void refund(String key, Limit limit) {
+        // A bucket that has already expired would be full again, so there is nothing to return
+        buckets.asMap().computeIfPresent(key, (k, current) -> current.refill(limit, clock.getAsLong()).refund(limit));
+    }
+}
@@ -0,0 +1,45 @@
+package com.cpt202.dailyreadingtracker.ratelimit;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Token bucket shared between nodes when app.rate-limit.store=database. Rows are locked while they are updated.
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "rate_limit_buckets", indexes = @Index(name = "idx_rate_limit_buckets_updated_at", columnList = "updatedAt"))
+public class RateLimitBucket {
+
+    @Id
+    @Column(length = 320)
+    private String bucketKey;
+
+    @Column(nullable = false)
+    private double tokens;
+
+    // Epoch milliseconds of the last refill
+    @Column(nullable = false)
+    private long updatedAt;
+
+    public RateLimitBucket(String bucketKey, TokenBucket bucket) {
+        this.bucketKey = bucketKey;
+        update(bucket);
+    }
+
+    TokenBucket toTokenBucket() {
+        return new TokenBucket(tokens, updatedAt);
+    }
+
+    void update(TokenBucket bucket) {
+        this.tokens = bucket.tokens();
+        this.updatedAt = bucket.updatedAtMillis();
+    }
+}
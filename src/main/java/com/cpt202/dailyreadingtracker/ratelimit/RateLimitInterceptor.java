@@ -0,0 +1,118 @@
+package com.cpt202.dailyreadingtracker.ratelimit;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.cpt202.dailyreadingtracker.ratelimit.RateLimitProperties.KeyType;
+import com.cpt202.dailyreadingtracker.ratelimit.RateLimitProperties.Limit;
+import com.cpt202.dailyreadingtracker.ratelimit.RateLimitStore.Decision;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Applies {@link RateLimited} limits before the handler runs.
+ * <p>
+ * For every key type of the limiter, the matching value is taken from the request and a token is consumed
+ * from the bucket {@code <limiter>:<key type>:<value>}. Key types with no value on this request (an anonymous
+ * user, a missing email parameter) are skipped. A request takes a token from every bucket or from none: at the
+ * first empty bucket the tokens already taken are refunded, later buckets are left alone, and the request is
+ * answered with 429 and a {@code Retry-After} header. Outcomes are counted in {@code app.rate.limit.requests}.
+ * </p>
+ */
+
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    // Longer values cannot be real emails; they share one bucket instead of each getting their own
+    static final int MAX_KEY_VALUE_LENGTH = 254;
+    static final String OVERSIZED_KEY_VALUE = "oversized";
+
+    private final RateLimitStore store;
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        if (!(handler instanceof HandlerMethod handlerMethod))
+            return true;
+
+        RateLimited rateLimited = handlerMethod.getMethodAnnotation(RateLimited.class);
+        if (rateLimited == null)
+            return true;
+
+        String name = rateLimited.value();
+        Limit limit = properties.getLimit(name);
+
+        Decision rejection = null;
+        List<String> consumed = new ArrayList<>();
+        for (KeyType keyType : limit.getKeys()) {
+            String value = keyValue(keyType, request);
+            if (value == null)
+                continue;
+
+            String key = name + ":" + keyType.name().toLowerCase(Locale.ROOT) + ":" + value;
+            Decision decision = store.tryConsume(key, limit);
+            if (!decision.allowed()) {
+                rejection = decision;
+                break;
+            }
+            consumed.add(key);
+        }
+
+        if (rejection == null) {
+            count(name, "allowed");
+            return true;
+        }
+
+        // Otherwise a flood from one IP would also drain the buckets of every email it names
+        for (String key : consumed)
+            store.refund(key, limit);
+
+        count(name, "rejected");
+        long seconds = Math.max(1, (rejection.retryAfter().toMillis() + 999) / 1000);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many requests, please try again later");
+        return false;
+    }
+
+    private static String keyValue(KeyType keyType, HttpServletRequest request) {
+        String value = switch (keyType) {
+            case USER -> {
+                Principal principal = request.getUserPrincipal();
+                yield principal == null ? null : principal.getName();
+            }
+            case IP -> request.getRemoteAddr();
+            case EMAIL -> {
+                String email = request.getParameter("email");
+                yield email == null || email.isBlank() ? null : email.trim().toLowerCase(Locale.ROOT);
+            }
+        };
+
+        if (value != null && value.length() > MAX_KEY_VALUE_LENGTH)
+            return OVERSIZED_KEY_VALUE;
+        return value;
+    }
+
+    private void count(String limiter, String outcome) {
+        Counter.builder("app.rate.limit.requests")
+            .description("Requests checked by the keyed rate limiters")
+            .tag("limiter", limiter)
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .increment();
+    }
+}
@@ -0,0 +1,69 @@
+package com.cpt202.dailyreadingtracker.ratelimit;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings for the keyed rate limiters, bound from {@code app.rate-limit.*}.
+ * <p>
+ * Each entry under {@code limits} is a token bucket that holds {@code capacity} tokens and refills completely
+ * over {@code refillPeriod}. A request consumes one token from a separate bucket for every key in {@code keys},
+ * and is only let through when all of them have one to spare.
+ * </p>
+ */
+
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    // memory keeps buckets per node; database shares them between nodes through the rate_limit_buckets table
+    private Store store = Store.MEMORY;
+
+    // Upper bound on buckets held by the in-memory store before idle ones are evicted
+    private long maxKeys = 100_000;
+
+    private Map<String, Limit> limits = new LinkedHashMap<>();
+
+    public Limit getLimit(String name) {
+        Limit limit = limits.get(name);
+        if (limit == null)
+            throw new IllegalStateException("No rate limit configured for '" + name + "' under app.rate-limit.limits");
+        return limit;
+    }
+
+    /**
+     * Longest refill period of any limiter; a bucket left alone this long is full again and can be forgotten.
+     */
+    public Duration getLongestRefillPeriod() {
+        return limits.values().stream()
+            .map(Limit::getRefillPeriod)
+            .max(Duration::compareTo)
+            .orElse(Duration.ofHours(1));
+    }
+
+    public enum Store {
+        MEMORY, DATABASE
+    }
+
+    public enum KeyType {
+        // Authenticated principal name
+        USER,
+        // Remote address of the client
+        IP,
+        // "email" request parameter, normalised to lower case
+        EMAIL
+    }
+
+    @Data
+    public static class Limit {
+        private int capacity = 10;
+        private Duration refillPeriod = Duration.ofMinutes(1);
+        private List<KeyType> keys = List.of(KeyType.IP);
+    }
+}
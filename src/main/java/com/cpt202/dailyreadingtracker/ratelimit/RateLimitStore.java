@@ -0,0 +1,31 @@
+package com.cpt202.dailyreadingtracker.ratelimit;
+
+import java.time.Duration;
+
+import com.cpt202.dailyreadingtracker.ratelimit.RateLimitProperties.Limit;
+
+/**
+ * Holds the token buckets behind the keyed rate limiters.
+ */
+
+public interface RateLimitStore {
+
+    /**
+     * Atomically refills the bucket for {@code key} and takes one token from it if one is available.
+     */
+    Decision tryConsume(String key, Limit limit);
+
+    /**
+     * Returns a token taken by {@link #tryConsume} that ended up unused, never filling the bucket past capacity.
+     */
+    void refund(String key, Limit limit);
+
+    record Decision(boolean allowed, Duration retryAfter) {
+
+        static final Decision ALLOWED = new Decision(true, Duration.ZERO);
+
+        static Decision of(TokenBucket bucket, Limit limit) {
+            return bucket.hasToken() ? ALLOWED : new Decision(false, bucket.timeUntilNextToken(limit));
+        }
+    }
+}
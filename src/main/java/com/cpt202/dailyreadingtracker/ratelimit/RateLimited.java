@@ -0,0 +1,26 @@
+package com.cpt202.dailyreadingtracker.ratelimit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a controller method as protected by the named limiter from {@code app.rate-limit.limits.<name>}.
+ * <p>
+ * Enforced by {@link RateLimitInterceptor} before the handler runs; a rejected request is answered with
+ * 429 and a {@code Retry-After} header.
+ * </p>
+ */
+
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+
+    /**
+     * Name of the limiter configuration to apply.
+     */
+    String value();
+}
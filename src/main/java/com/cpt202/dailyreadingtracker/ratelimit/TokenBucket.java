@@ -0,0 +1,52 @@
+package com.cpt202.dailyreadingtracker.ratelimit;
+
+import java.time.Duration;
+
+import com.cpt202.dailyreadingtracker.ratelimit.RateLimitProperties.Limit;
+
+/**
+ * Immutable state of one token bucket: the tokens left and when that count was last brought up to date.
+ * <p>
+ * Tokens are refilled lazily from the elapsed time on every access, so nothing has to run in the background
+ * and the same arithmetic serves the in-memory and the database store.
+ * </p>
+ */
+
+record TokenBucket(double tokens, long updatedAtMillis) {
+
+    static TokenBucket full(Limit limit, long nowMillis) {
+        return new TokenBucket(limit.getCapacity(), nowMillis);
+    }
+
+    TokenBucket refill(Limit limit, long nowMillis) {
+        long elapsed = Math.max(0, nowMillis - updatedAtMillis);
+        double refilled = Math.min(limit.getCapacity(), tokens + elapsed * tokensPerMilli(limit));
+        return new TokenBucket(refilled, Math.max(nowMillis, updatedAtMillis));
+    }
+
+    boolean hasToken() {
+        return tokens >= 1;
+    }
+
+    TokenBucket consume() {
+        return new TokenBucket(tokens - 1, updatedAtMillis);
+    }
+
+    TokenBucket refund(Limit limit) {
+        return new TokenBucket(Math.min(limit.getCapacity(), tokens + 1), updatedAtMillis);
+    }
+
+    Duration timeUntilNextToken(Limit limit) {
+        if (hasToken())
+            return Duration.ZERO;
+        return Duration.ofMillis((long) Math.ceil((1 - tokens) * refillMillis(limit) / limit.getCapacity()));
+    }
+
+    private static double tokensPerMilli(Limit limit) {
+        return limit.getCapacity() / (double) refillMillis(limit);
+    }
+
+    private static long refillMillis(Limit limit) {
+        return Math.max(1, limit.getRefillPeriod().toMillis());
+    }
+}
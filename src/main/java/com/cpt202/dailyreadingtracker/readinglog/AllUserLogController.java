@@ -20,6 +20,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.cpt202.dailyreadingtracker.jfr.AdminFilterScanEvent;
 import com.cpt202.dailyreadingtracker.user.User;
 import com.cpt202.dailyreadingtracker.user.UserRepository;
 
@@ -157,9 +158,19 @@ public class AllUserLogController {
         @RequestParam(required = false) Integer minTime,
         @RequestParam(required = false) Integer maxTime) {
         
-        List<ReadingLog> logs = rlRepository.findAllLogsWithUser();
+        AdminFilterScanEvent event = new AdminFilterScanEvent();
+        event.begin();
+
+        List<ReadingLog> allLogs = rlRepository.findAllLogsWithUser();
         
-        logs = applyFiltersInMemory(logs, query, startDate, endDate, minTime, maxTime);
+        List<ReadingLog> logs = applyFiltersInMemory(allLogs, query, startDate, endDate, minTime, maxTime);
+
+        if (event.shouldCommit()) {
+            event.setTable("reading_logs");
+            event.setRowsScanned(allLogs.size());
+            event.setRowsReturned(logs.size());
+            event.commit();
+        }
         
         List<Map<String, Object>> response = logs.stream().map(log -> {
             Map<String, Object> logMap = new LinkedHashMap<>();
@@ -179,8 +190,8 @@ public class AllUserLogController {
         return ResponseEntity.ok(response);
     }
 
-    private List<ReadingLog> applyFiltersInMemory(List<ReadingLog> logs, String query, LocalDate startDate, 
-                                                  LocalDate endDate, Integer minTime, Integer maxTime) {
+    List<ReadingLog> applyFiltersInMemory(List<ReadingLog> logs, String query, LocalDate startDate, 
+                                              LocalDate endDate, Integer minTime, Integer maxTime) {
         if (query != null && !query.isEmpty()) {
             String searchTerm = query.toLowerCase();
             logs = logs.stream()
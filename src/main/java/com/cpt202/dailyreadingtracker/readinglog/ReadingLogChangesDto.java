@@ -0,0 +1,18 @@
+package com.cpt202.dailyreadingtracker.readinglog;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadingLogChangesDto {
+
+    private List<ReadingLog> upserts;
+    private List<Long> deletedIds;
+    private LocalDateTime syncedAt;
+}
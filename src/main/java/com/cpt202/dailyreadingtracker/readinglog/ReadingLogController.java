@@ -1,9 +1,12 @@
 package com.cpt202.dailyreadingtracker.readinglog;
 
 import java.security.Principal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -17,6 +20,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.cpt202.dailyreadingtracker.ratelimit.RateLimited;
+
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -28,6 +33,7 @@ import lombok.RequiredArgsConstructor;
  *     <li>Retrieving all reading logs for the authenticated user</li>
  *     <li>Creating, updating, and deleting reading logs for the authenticated user</li>
  *     <li>Retrieving the history of reading logs for specific titles and authors</li>
+ *     <li>Retrieving the logs changed since the client's last sync</li>
  * </ul>
  * <p>
  */
@@ -47,6 +53,15 @@ public class ReadingLogController {
         return ResponseEntity.ok(logs);
     }
 
+    @GetMapping("/changes")
+    public ResponseEntity<ReadingLogChangesDto> getChanges(
+                                    @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime since,
+                                    Principal principal) {
+        Long userId = readingLogService.getUserIdFromPrincipal(principal);
+
+        return ResponseEntity.ok(readingLogService.getChangesSince(userId, since));
+    }
+
     @GetMapping("/{logId}")
     public ResponseEntity<?> getLogById(@PathVariable("logId") Long id, Principal principal) {
         if (id <= 0) {
@@ -65,6 +80,7 @@ public class ReadingLogController {
         }
     }
 
+    @RateLimited("reading-log-write")
     @PutMapping("/{logId}")
     public ResponseEntity<?> updateLog(@PathVariable("logId") Long id, @RequestBody @Valid ReadingLogDto dto, Principal principal) {
         Long userId = readingLogService.getUserIdFromPrincipal(principal);
@@ -83,6 +99,7 @@ public class ReadingLogController {
         }
     }
 
+    @RateLimited("reading-log-write")
     @PostMapping
     public ResponseEntity<?> createLog(@RequestBody @Valid ReadingLogDto dto, Principal principal) {
         if (dto == null) {
@@ -110,6 +127,7 @@ public class ReadingLogController {
         }
     }
 
+    @RateLimited("reading-log-write")
     @DeleteMapping("/{logId}")
     public ResponseEntity<?> deleteLog(@PathVariable("logId") Long id, Principal principal) {
         Long userId = readingLogService.getUserIdFromPrincipal(principal);
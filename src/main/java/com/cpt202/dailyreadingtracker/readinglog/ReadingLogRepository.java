@@ -1,6 +1,7 @@
 package com.cpt202.dailyreadingtracker.readinglog;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -15,6 +16,8 @@ public interface ReadingLogRepository extends JpaRepository<ReadingLog, Long> {
     @Query("SELECT r FROM ReadingLog r ORDER BY r.date DESC")
     List<ReadingLog> findAllLogs();
 
+    List<ReadingLog> findByUserIdAndUpdatedAtAfter(Long userId, LocalDateTime since);
+
     List<ReadingLog> findByUserIdAndDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
 
     @Query("SELECT r FROM ReadingLog r WHERE " +
@@ -53,6 +56,9 @@ public interface ReadingLogRepository extends JpaRepository<ReadingLog, Long> {
     List<ReadingLog> findByTitleIgnoreCaseAndAuthorIgnoreCaseOrderByDateDesc(@Param("title") String title,
                                                                         @Param("author") String author);
 
+    @Query("SELECT COUNT(r) FROM ReadingLog r WHERE r.user.id = :userId AND LOWER(r.title) = LOWER(:title)")
+    long countVersions(@Param("userId") Long userId, @Param("title") String title);
+
     List<ReadingLog> findByUserIdAndTitleIgnoreCaseAndAuthorIgnoreCase(Long userId, String title, String author);
     List<ReadingLog> findByUserIdAndTitleIgnoreCaseAndAuthorIgnoreCaseAndIdNot(Long userId, String title, 
                                                                                String author, Long excludedId);
@@ -60,6 +66,6 @@ public interface ReadingLogRepository extends JpaRepository<ReadingLog, Long> {
     @Query("SELECT r FROM ReadingLog r WHERE r.previousVersion.id = :previousVersionId")
     ReadingLog findByPreviousVersionId(@Param("previousVersionId") Long previousVersionId);
 
-    @Query("SELECT r FROM ReadingLog r LEFT JOIN FETCH r.user ORDER BY r.date DESC")
+    @Query("SELECT r FROM ReadingLog r LEFT JOIN FETCH r.user u LEFT JOIN FETCH u.verificationToken ORDER BY r.date DESC")
     List<ReadingLog> findAllLogsWithUser();
 }
@@ -1,6 +1,8 @@
 package com.cpt202.dailyreadingtracker.readinglog;
 
 import java.security.Principal;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -11,12 +13,15 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.cpt202.dailyreadingtracker.admin.AdminEventService;
+import com.cpt202.dailyreadingtracker.jfr.ReadingLogWriteEvent;
 import com.cpt202.dailyreadingtracker.user.User;
 import com.cpt202.dailyreadingtracker.user.UserRepository;
 import com.cpt202.dailyreadingtracker.utils.EmailService;
 import com.cpt202.dailyreadingtracker.violationlog.ViolationLog;
 import com.cpt202.dailyreadingtracker.violationlog.ViolationLogRepository;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -28,17 +33,23 @@ import lombok.RequiredArgsConstructor;
  *     <li>Retrieve reading log history and details</li>
  *     <li>Handle log versioning to track changes over time</li>
  *     <li>Allow admins to delete inappropriate logs</li>
+ *     <li>Report changes since a point in time for incremental client sync</li>
  * </ul>
  */
 
 @Service
+@Timed("app.service")
 @RequiredArgsConstructor
 public class ReadingLogService {
 
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(5);
+
     private final ReadingLogRepository readingLogRepository;
+    private final ReadingLogTombstoneRepository tombstoneRepository;
     private final UserRepository userRepository;
     private final ViolationLogRepository violationLogRepository;
     private final EmailService emailService;
+    private final AdminEventService adminEventService;
 
     /**
      * Creates a new reading log for a user.
@@ -50,6 +61,9 @@ public class ReadingLogService {
      */
     @Transactional
     public ReadingLog createLog(Long userId, ReadingLogDto dto) {
+        ReadingLogWriteEvent event = new ReadingLogWriteEvent();
+        event.begin();
+
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User is not existed."));
 
@@ -84,7 +98,17 @@ public class ReadingLogService {
             log.setPreviousVersion(previousLog);
         }
 
-        return readingLogRepository.save(log);
+        ReadingLog savedLog = readingLogRepository.save(log);
+        adminEventService.publishLogChange(AdminEventService.LOG_CREATED, savedLog);
+
+        // Counting the chain costs a query, so only do it while a recording is capturing the event
+        if (event.shouldCommit()) {
+            event.setChainLength(log.getPreviousVersion() == null ? 1
+                    : readingLogRepository.countVersions(userId, dto.getTitle().trim()));
+        }
+        commit(event, ReadingLogWriteEvent.CREATE, userId, savedLog.getId());
+
+        return savedLog;
     }
 
     /**
@@ -116,6 +140,9 @@ public class ReadingLogService {
      */
     @Transactional
     public void deleteLog(long userId, long logId) {
+        ReadingLogWriteEvent event = new ReadingLogWriteEvent();
+        event.begin();
+
         ReadingLog log = readingLogRepository.findById(logId)
                 .orElseThrow(() -> new EntityNotFoundException("Log not found"));
 
@@ -135,6 +162,9 @@ public class ReadingLogService {
         }
 
         readingLogRepository.delete(log);
+        tombstoneRepository.save(new ReadingLogTombstone(log));
+        adminEventService.publishLogDeleted(logId);
+        commit(event, ReadingLogWriteEvent.DELETE, userId, logId);
     }
 
     /**
@@ -150,6 +180,35 @@ public class ReadingLogService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Retrieves the logs created, updated or deleted for a user since the given time.
+     * Without a {@code since} value the full log list is returned as upserts.
+     * The window is widened slightly so writes committed while the previous sync ran are not missed;
+     * upserts and deletions are idempotent, so clients can safely apply them twice.
+     *
+     * @param userId the ID of the user
+     * @param since  the {@code syncedAt} value returned by the client's previous sync (optional)
+     * @return the changed logs, the IDs of deleted logs, and the cursor for the next sync
+     */
+    public ReadingLogChangesDto getChangesSince(Long userId, LocalDateTime since) {
+        LocalDateTime syncedAt = LocalDateTime.now();
+
+        if (since == null) {
+            return new ReadingLogChangesDto(getAllLogsByUser(userId), List.of(), syncedAt);
+        }
+
+        LocalDateTime windowStart = since.minus(SYNC_OVERLAP);
+
+        List<ReadingLog> upserts = readingLogRepository.findByUserIdAndUpdatedAtAfter(userId, windowStart);
+        List<Long> deletedIds = tombstoneRepository.findByUserIdAndDeletedAtAfter(userId, windowStart)
+                .stream()
+                .map(ReadingLogTombstone::getLogId)
+                .distinct()
+                .collect(Collectors.toList());
+
+        return new ReadingLogChangesDto(upserts, deletedIds, syncedAt);
+    }
+
     /**
      * Updates an existing reading log with new details.
      * Ensures that only the owner of the log or an admin can update it.
@@ -160,6 +219,9 @@ public class ReadingLogService {
      * @return the updated reading log
      */
     public ReadingLog updateLog(Long userId, Long logId, ReadingLogDto dto) {
+        ReadingLogWriteEvent event = new ReadingLogWriteEvent();
+        event.begin();
+
         ReadingLog log = readingLogRepository.findById(logId)
             .orElseThrow(() -> new IllegalArgumentException("Reading log not found"));
 
@@ -198,7 +260,11 @@ public class ReadingLogService {
         log.setTotalPages(dto.getTotalPages());
         log.setNotes(dto.getNotes());
 
-        return readingLogRepository.save(log);
+        ReadingLog savedLog = readingLogRepository.save(log);
+        adminEventService.publishLogChange(AdminEventService.LOG_UPDATED, savedLog);
+        commit(event, ReadingLogWriteEvent.UPDATE, userId, logId);
+
+        return savedLog;
     }
 
     /**
@@ -210,6 +276,9 @@ public class ReadingLogService {
      */
     @Transactional
     public void deleteInappropriateLog(long userId, Long logId) {
+        ReadingLogWriteEvent event = new ReadingLogWriteEvent();
+        event.begin();
+
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
@@ -235,6 +304,9 @@ public class ReadingLogService {
 
         violationLogRepository.save(violog);
         readingLogRepository.delete(log); 
+        tombstoneRepository.save(new ReadingLogTombstone(log));
+        adminEventService.publishLogFlagged(violog);
+        commit(event, ReadingLogWriteEvent.DELETE, userId, logId);
 
         emailService.sendViolationNotificationEmail(log.getUser().getEmail(), log);
     }
@@ -275,6 +347,23 @@ public class ReadingLogService {
             return readingLogRepository.findByTitleIgnoreCaseAndAuthorIgnoreCaseOrderByDateDesc(title, author);
     }
 
+    /**
+     * Completes a reading log write event and records it if Flight Recorder is capturing it.
+     *
+     * @param event     the event started at the beginning of the write
+     * @param operation the write operation
+     * @param userId    the ID of the user performing the write
+     * @param logId     the ID of the written log
+     */
+    private void commit(ReadingLogWriteEvent event, String operation, Long userId, Long logId) {
+        if (event.shouldCommit()) {
+            event.setOperation(operation);
+            event.setUserId(userId != null ? userId : 0);
+            event.setLogId(logId != null ? logId : 0);
+            event.commit();
+        }
+    }
+
     /**
     * Checks whether a user has the "ROLE_ADMIN" role.
     *
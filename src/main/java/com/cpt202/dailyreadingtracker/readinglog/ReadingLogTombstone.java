@@ -0,0 +1,45 @@
+package com.cpt202.dailyreadingtracker.readinglog;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Marker left behind when a reading log is removed, so syncing clients can drop their local copy
+
+@Entity
+@Table(name = "reading_log_tombstones", indexes = {
+    @Index(name = "idx_tombstones_user_deleted", columnList = "user_id, deleted_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadingLogTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "log_id", nullable = false)
+    private Long logId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    public ReadingLogTombstone(ReadingLog log) {
+        this.logId = log.getId();
+        this.userId = log.getUser().getId();
+        this.deletedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,12 @@
+package com.cpt202.dailyreadingtracker.readinglog;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReadingLogTombstoneRepository extends JpaRepository<ReadingLogTombstone, Long> {
+    List<ReadingLogTombstone> findByUserIdAndDeletedAtAfter(Long userId, LocalDateTime since);
+}
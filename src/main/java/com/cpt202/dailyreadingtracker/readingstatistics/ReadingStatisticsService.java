@@ -9,11 +9,13 @@ import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 
+import com.cpt202.dailyreadingtracker.jfr.StatisticsComputationEvent;
 import com.cpt202.dailyreadingtracker.readinglog.ReadingLog;
 import com.cpt202.dailyreadingtracker.readinglog.ReadingLogRepository;
 import com.cpt202.dailyreadingtracker.user.User;
 import com.cpt202.dailyreadingtracker.user.UserRepository;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -22,14 +24,17 @@ import lombok.RequiredArgsConstructor;
  *     <li>Calculate total reading time, average daily time, and book count</li>
  *     <li>Generate statistics for specific time periods or date ranges</li>
  *     <li>Track progress for individual books</li>
+ *     <li>Share one computation between concurrent identical requests</li>
  * </ul>
  */
 
 @Service
+@Timed("app.service")
 @RequiredArgsConstructor
 public class ReadingStatisticsService {
     private final ReadingLogRepository readingLogRepository;
     private final UserRepository userRepository;
+    private final StatisticsRequestCoalescer requestCoalescer;
 
     /**
      * Calculates overall reading statistics for a user.
@@ -38,8 +43,17 @@ public class ReadingStatisticsService {
      * @return a map containing reading statistics such as total reading time, book count, and average daily time
      */
     public Map<String, Object> getReadingStatistics(Long userId) {
-        List<ReadingLog> allLogs = readingLogRepository.findByUserId(userId);
+        return requestCoalescer.execute(userId, null, null,
+                () -> calculateStatistics(readingLogRepository.findByUserId(userId)));
+    }
 
+    /**
+     * Calculates overall reading statistics from logs the caller has already loaded.
+     *
+     * @param allLogs all reading logs of a user
+     * @return a map containing reading statistics such as total reading time, book count, and average daily time
+     */
+    public Map<String, Object> calculateStatistics(List<ReadingLog> allLogs) {
         if (allLogs.isEmpty()) {
             return Map.of(
                     "dates", List.of(),
@@ -72,6 +86,28 @@ public class ReadingStatisticsService {
         return getReadingStatisticsByDateRange(userId, startDate, endDate);
     }
 
+    /**
+     * Calculates reading statistics for a time period from logs the caller has already loaded.
+     *
+     * @param allLogs all reading logs of a user
+     * @param period  the time period (e.g., "total", "last_week", "last_month", "last_year")
+     * @return a map containing reading statistics for the specified period
+     */
+    public Map<String, Object> calculateStatisticsForPeriod(List<ReadingLog> allLogs, String period) {
+        if ("total".equals(period)) {
+            return calculateStatistics(allLogs);
+        }
+
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = calculateStartDate(period);
+
+        List<ReadingLog> logs = allLogs.stream()
+                .filter(log -> !log.getDate().isBefore(startDate) && !log.getDate().isAfter(endDate))
+                .collect(Collectors.toList());
+
+        return calculateReadingStats(logs, startDate, endDate);
+    }
+
     /**
      * Calculates reading statistics for a user within a specific date range.
      *
@@ -86,9 +122,11 @@ public class ReadingStatisticsService {
             throw new IllegalArgumentException("Start date cannot be after end date");
         }
 
-        List<ReadingLog> logs = readingLogRepository.findByUserIdAndDateBetween(userId, startDate, endDate);
+        return requestCoalescer.execute(userId, startDate, endDate, () -> {
+            List<ReadingLog> logs = readingLogRepository.findByUserIdAndDateBetween(userId, startDate, endDate);
 
-        return calculateReadingStats(logs, startDate, endDate);
+            return calculateReadingStats(logs, startDate, endDate);
+        });
     }
 
     /**
@@ -102,6 +140,9 @@ public class ReadingStatisticsService {
     private Map<String, Object> calculateReadingStats(List<ReadingLog> logs,
                                                       LocalDate startDate,
                                                       LocalDate endDate) {
+        StatisticsComputationEvent event = new StatisticsComputationEvent();
+        event.begin();
+
         List<String> dateList = startDate.datesUntil(endDate.plusDays(1))
                 .map(date -> date.toString())
                 .collect(Collectors.toList());
@@ -116,7 +157,7 @@ public class ReadingStatisticsService {
                 .map(date -> dailyReading.getOrDefault(date, 0L))
                 .collect(Collectors.toList());
 
-        return Map.of(
+        Map<String, Object> stats = Map.of(
                 "dates", dateList,
                 "readingTimes", timeList,
                 "bookCount", (int) logs.stream()
@@ -126,6 +167,15 @@ public class ReadingStatisticsService {
                 "totalReadingTime", timeList.stream().mapToLong(Long::longValue).sum(),
                 "avgDailyTime", timeList.stream().mapToLong(Long::longValue).average().orElse(0)
         );
+
+        if (event.shouldCommit()) {
+            event.setKind(StatisticsComputationEvent.READING_TIME);
+            event.setDays(dateList.size());
+            event.setLogsScanned(logs.size());
+            event.commit();
+        }
+
+        return stats;
     }
 
      /**
@@ -151,7 +201,18 @@ public class ReadingStatisticsService {
      * @return a map containing progress percentages for each book
      */
     public Map<String, Object> getBookProgressStats(Long userId) {
-        List<ReadingLog> logs = readingLogRepository.findByUserId(userId);
+        return calculateBookProgress(readingLogRepository.findByUserId(userId));
+    }
+
+    /**
+     * Calculates progress for all books from logs the caller has already loaded.
+     *
+     * @param logs all reading logs of a user
+     * @return a map containing progress percentages for each book
+     */
+    public Map<String, Object> calculateBookProgress(List<ReadingLog> logs) {
+        StatisticsComputationEvent event = new StatisticsComputationEvent();
+        event.begin();
 
         Map<String, Double> progressMap = logs.stream()
                 .filter(log -> log.getTotalPages() != null && log.getTotalPages() > 0)
@@ -165,6 +226,12 @@ public class ReadingStatisticsService {
                                 }
                         )));
 
+        if (event.shouldCommit()) {
+            event.setKind(StatisticsComputationEvent.BOOK_PROGRESS);
+            event.setLogsScanned(logs.size());
+            event.commit();
+        }
+
         return Map.of("bookProgress", progressMap);
     }
 
@@ -0,0 +1,98 @@
+package com.cpt202.dailyreadingtracker.readingstatistics;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Single-flight guard for reading statistics aggregations.
+ * <p>
+ * Concurrent requests for the same user and date range share one in-flight computation instead of each
+ * scanning the user's logs. The first caller computes on its own thread; later callers wait for its result.
+ * Nothing is cached once the computation finishes, so a subsequent request always sees fresh data.
+ * </p>
+ */
+
+@Component
+public class StatisticsRequestCoalescer {
+
+    private final ConcurrentMap<StatisticsKey, CompletableFuture<Map<String, Object>>> inFlight =
+            new ConcurrentHashMap<>();
+
+    private final Counter computedCounter;
+    private final Counter coalescedCounter;
+
+    public StatisticsRequestCoalescer(MeterRegistry meterRegistry) {
+        this.computedCounter = Counter.builder("reading.statistics.requests")
+                .description("Reading statistics requests by whether they ran or joined an in-flight computation")
+                .tag("outcome", "computed")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("reading.statistics.requests")
+                .description("Reading statistics requests by whether they ran or joined an in-flight computation")
+                .tag("outcome", "coalesced")
+                .register(meterRegistry);
+
+        Gauge.builder("reading.statistics.in.flight", inFlight, Map::size)
+                .description("Reading statistics computations currently running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the computation, or joins an identical one already in flight.
+     *
+     * @param userId      the ID of the user
+     * @param startDate   the start of the date range, or {@code null} for all-time statistics
+     * @param endDate     the end of the date range, or {@code null} for all-time statistics
+     * @param computation the aggregation to run if none is in flight
+     * @return the statistics produced by the shared computation
+     */
+    public Map<String, Object> execute(Long userId, LocalDate startDate, LocalDate endDate,
+                                       Supplier<Map<String, Object>> computation) {
+        StatisticsKey key = new StatisticsKey(userId, startDate, endDate);
+        CompletableFuture<Map<String, Object>> ours = new CompletableFuture<>();
+        CompletableFuture<Map<String, Object>> existing = inFlight.putIfAbsent(key, ours);
+
+        if (existing != null) {
+            coalescedCounter.increment();
+            return await(existing);
+        }
+
+        computedCounter.increment();
+        try {
+            Map<String, Object> result = computation.get();
+            ours.complete(result);
+            return result;
+        } catch (Throwable e) {
+            // Waiters block on ours, so it must be completed whatever the computation throws
+            ours.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, ours);
+        }
+    }
+
+    private Map<String, Object> await(CompletableFuture<Map<String, Object>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            if (e.getCause() instanceof Error cause)
+                throw cause;
+
+            throw e;
+        }
+    }
+
+    private record StatisticsKey(Long userId, LocalDate startDate, LocalDate endDate) {}
+}
@@ -8,6 +8,7 @@ import org.springframework.stereotype.Service;
 import com.cpt202.dailyreadingtracker.readinglog.ReadingLog;
 import com.cpt202.dailyreadingtracker.readinglog.ReadingLogRepository;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -21,6 +22,7 @@ import lombok.RequiredArgsConstructor;
  */
 
 @Service
+@Timed("app.service")
 @RequiredArgsConstructor
 public class SearchAndFilterService {
 
@@ -0,0 +1,90 @@
+package com.cpt202.dailyreadingtracker.security;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.cpt202.dailyreadingtracker.auth.ApiTokenService;
+import com.cpt202.dailyreadingtracker.utils.JWTTokenUtil;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Authenticates API requests carrying an {@code Authorization: Bearer} access token.
+ * <p>
+ * The user and roles are taken from the verified token alone, without a database or session lookup.
+ * Requests without a bearer token pass through unchanged; requests with an invalid one are rejected
+ * with 401 rather than falling back to the session.
+ * </p>
+ */
+
+public class ApiTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JWTTokenUtil jwtTokenUtil;
+    private final SecurityContextHolderStrategy securityContextHolderStrategy =
+            SecurityContextHolder.getContextHolderStrategy();
+
+    public ApiTokenAuthenticationFilter(JWTTokenUtil jwtTokenUtil) {
+        this.jwtTokenUtil = jwtTokenUtil;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Authentication authentication = authenticate(header.substring(BEARER_PREFIX.length()).trim());
+
+        if (authentication == null) {
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+
+        SecurityContext context = securityContextHolderStrategy.createEmptyContext();
+        context.setAuthentication(authentication);
+        securityContextHolderStrategy.setContext(context);
+
+        filterChain.doFilter(request, response);
+    }
+
+    private Authentication authenticate(String token) {
+        try {
+            Claims claims = jwtTokenUtil.parse(token);
+
+            // Refresh tokens and the email link tokens are signed with the same key but are not access tokens
+            if (!ApiTokenService.ACCESS_TOKEN.equals(claims.get(ApiTokenService.TOKEN_TYPE_CLAIM, String.class)))
+                return null;
+
+            List<?> roles = claims.get(ApiTokenService.ROLES_CLAIM, List.class);
+            List<GrantedAuthority> authorities = roles == null ? List.of() : roles.stream()
+                    .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString()))
+                    .toList();
+
+            return UsernamePasswordAuthenticationToken.authenticated(claims.getSubject(), null, authorities);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
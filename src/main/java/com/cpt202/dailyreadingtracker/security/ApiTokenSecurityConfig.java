@@ -0,0 +1,41 @@
+package com.cpt202.dailyreadingtracker.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import com.cpt202.dailyreadingtracker.utils.JWTTokenUtil;
+
+// Security policy for /api/** when stateless token authentication is enabled (app.security.api-tokens.enabled).
+// Bearer tokens never create a session; the pages' own API calls keep using the session from form login.
+
+@Configuration
+@ConditionalOnProperty(name = "app.security.api-tokens.enabled", havingValue = "true")
+public class ApiTokenSecurityConfig {
+
+    @Bean
+    @Order(1)
+    public SecurityFilterChain apiSecurityFilterChain(HttpSecurity http, JWTTokenUtil jwtTokenUtil) throws Exception {
+        http
+            .securityMatcher("/api/**")
+            .csrf(csrf -> csrf.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.NEVER))
+            .authorizeHttpRequests(auth -> auth
+                .requestMatchers("/api/auth/token", "/api/auth/refresh").permitAll()
+                .anyRequest().authenticated()
+            )
+            .addFilterBefore(new ApiTokenAuthenticationFilter(jwtTokenUtil), UsernamePasswordAuthenticationFilter.class)
+            .exceptionHandling(exceptions -> exceptions
+                .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))
+            );
+
+        return http.build();
+    }
+}
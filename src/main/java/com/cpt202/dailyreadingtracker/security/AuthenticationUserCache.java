@@ -0,0 +1,93 @@
+package com.cpt202.dailyreadingtracker.security;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded, expiring cache of the {@link UserDetails} used to authenticate users, keyed by login email.
+ * <p>
+ * Concurrent misses for the same user share one database load, so a burst of logins after an outage
+ * reads each account once. Callers get a copy of the cached entry, because a successful login
+ * erases the password of the principal it returns.
+ * </p>
+ * <p>
+ * Entries expire after {@code app.security.user-cache.ttl} as a backstop. Code that changes a user's
+ * password, roles or frozen state must call {@link #removeUserFromCache(String)}.
+ * </p>
+ */
+
+@Component
+public class AuthenticationUserCache implements UserCache {
+
+    private final Cache<String, UserDetails> cache;
+
+    public AuthenticationUserCache(MeterRegistry meterRegistry,
+                                   @Value("${app.security.user-cache.max-size:10000}") long maxSize,
+                                   @Value("${app.security.user-cache.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "authentication.users");
+    }
+
+    /**
+     * Returns the cached user, loading it if absent. Exceptions thrown by the loader are not cached.
+     *
+     * @param username the login email
+     * @param loader   loads the user from the database
+     * @return a copy of the cached user
+     */
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        return copy(cache.get(username, loader));
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        UserDetails cached = cache.getIfPresent(username);
+        return cached != null ? copy(cached) : null;
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        cache.put(user.getUsername(), copy(user));
+    }
+
+    /**
+     * Evicts the user now and, inside a transaction, again after commit so that a login racing the
+     * transaction cannot cache the state it is replacing.
+     */
+    @Override
+    public void removeUserFromCache(String username) {
+        cache.invalidate(username);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(username);
+                }
+            });
+        }
+    }
+
+    private static UserDetails copy(UserDetails user) {
+        return User.withUserDetails(user).build();
+    }
+}
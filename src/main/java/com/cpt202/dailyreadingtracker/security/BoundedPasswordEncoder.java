@@ -0,0 +1,140 @@
+package com.cpt202.dailyreadingtracker.security;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * {@link PasswordEncoder} that runs the delegate's hashing and verification on a small, bounded pool.
+ * <p>
+ * BCrypt is deliberately CPU-heavy, so a burst of logins on request threads can starve every other endpoint.
+ * Here at most {@code threads} hashes run at once and at most {@code queueCapacity} wait. Anything beyond
+ * that, or anything that waits longer than {@code maxWait}, fails fast with {@link PasswordHashingBusyException}
+ * so the caller can answer 503 instead of queueing without bound.
+ * </p>
+ * <p>
+ * Metrics: {@code app.password.hashing} times each operation including the queue wait,
+ * {@code app.password.hashing.rejected} counts shed calls, and the pool itself is published as
+ * {@code executor.*} with {@code name=password.hashing}.
+ * </p>
+ */
+
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    static final String ENCODE = "encode";
+    static final String MATCHES = "matches";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration maxWait;
+    private final MeterRegistry meterRegistry;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration maxWait,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxWait = maxWait;
+        this.meterRegistry = meterRegistry;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "password.hashing");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(ENCODE, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(MATCHES, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // Only parses the stored hash, so it stays on the caller's thread
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T submit(String operation, Callable<T> hashing) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Future<T> result;
+
+        try {
+            result = executor.submit(hashing);
+        } catch (RejectedExecutionException e) {
+            throw rejected(operation, "queue-full");
+        }
+
+        try {
+            return result.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            throw rejected(operation, "timeout");
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw rejected(operation, "interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            sample.stop(meterRegistry.timer("app.password.hashing", "operation", operation));
+        }
+    }
+
+    private PasswordHashingBusyException rejected(String operation, String reason) {
+        Counter.builder("app.password.hashing.rejected")
+                .description("Password hashing calls shed because the hashing pool was saturated")
+                .tag("operation", operation)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+
+        return new PasswordHashingBusyException("Password hashing capacity exceeded (" + reason + ")");
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Thrown when a password cannot be hashed or verified because the hashing pool is saturated.
+     * It is an {@link AuthenticationServiceException} so that a login attempt fails as a server-side
+     * problem rather than as bad credentials.
+     */
+    public static class PasswordHashingBusyException extends AuthenticationServiceException {
+
+        public static final int RETRY_AFTER_SECONDS = 1;
+
+        public PasswordHashingBusyException(String message) {
+            super(message);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -23,16 +24,42 @@ import lombok.RequiredArgsConstructor;
  * {@link UserRepository} to fetch user details based on their email address.
  * </p>
  * <p>
+ * Loaded users are kept in the {@link AuthenticationUserCache}, so repeated logins and auto-logins
+ * do not query the users table. Unverified and frozen accounts are never cached.
+ * </p>
+ * <p>
+ * As the {@link UserDetailsPasswordService}, it also stores the new hash when Spring Security rehashes
+ * a password after login because {@code app.security.password.bcrypt-strength} was raised.
+ * </p>
+ * <p>
  */
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     
     private final UserRepository userRepository;
+    private final AuthenticationUserCache userCache;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        return userCache.get(email, this::loadFromDatabase);
+    }
+
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        userRepository.findByEmail(userDetails.getUsername()).ifPresent(user -> {
+            user.setPassword(newPassword);
+            userRepository.save(user);
+        });
+        userCache.removeUserFromCache(userDetails.getUsername());
+
+        return org.springframework.security.core.userdetails.User.withUserDetails(userDetails)
+            .password(newPassword)
+            .build();
+    }
+
+    private UserDetails loadFromDatabase(String email) {
         User user = userRepository.findByEmail(email)
             .orElseThrow(() -> new UsernameNotFoundException(email));
 
@@ -0,0 +1,32 @@
+package com.cpt202.dailyreadingtracker.security;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Login block shared between nodes when app.security.login-throttle.shared=true. Only blocks are stored, not failures.
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "login_blocks")
+public class LoginBlock {
+
+    @Id
+    @Column(length = 320)
+    private String throttleKey;
+
+    // Epoch milliseconds until which logins for this key are rejected
+    @Column(nullable = false)
+    private long blockedUntil;
+
+    public LoginBlock(String throttleKey, long blockedUntil) {
+        this.throttleKey = throttleKey;
+        this.blockedUntil = blockedUntil;
+    }
+}
@@ -0,0 +1,18 @@
+package com.cpt202.dailyreadingtracker.security;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.transaction.Transactional;
+
+@Repository
+public interface LoginBlockRepository extends JpaRepository<LoginBlock, String> {
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM LoginBlock b WHERE b.blockedUntil <= :now")
+    int deleteExpired(@Param("now") long now);
+}
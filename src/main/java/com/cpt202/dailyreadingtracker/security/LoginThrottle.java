@@ -0,0 +1,217 @@
+package com.cpt202.dailyreadingtracker.security;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Tracks failed logins per account and per client IP and blocks further attempts with exponential backoff.
+ * <p>
+ * Every failure adds one to a score that halves each {@code app.security.login-throttle.half-life}, so
+ * occasional typos are forgotten while a sustained attack keeps the score high. Once a score reaches its
+ * threshold, the key is blocked for {@code base-delay}, doubling with each further failure up to
+ * {@code max-delay} until the score has decayed below the threshold again. A blocked attempt is rejected
+ * before the user is loaded or a password is hashed.
+ * </p>
+ * <p>
+ * Scores live only in memory, so recording a failure never touches the database. With
+ * {@code app.security.login-throttle.shared=true} the blocks themselves are also written to the
+ * {@code login_blocks} table and checked by every node, so rotating between nodes does not escape a block.
+ * </p>
+ * <p>
+ * Metrics: {@code app.login.throttle.blocks} counts blocks by scope, {@code app.login.throttle.rejected}
+ * counts short-circuited attempts and {@code app.login.throttle.tracked} is the number of keys held.
+ * </p>
+ */
+
+@Component
+public class LoginThrottle {
+
+    static final String ACCOUNT = "account";
+    static final String IP = "ip";
+
+    // Expired rows in login_blocks are purged after this many blocks have been written
+    static final int CLEANUP_INTERVAL = 100;
+
+    private final Cache<String, FailureScore> scores;
+    private final LoginBlockRepository loginBlockRepository;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier clock;
+    private final Settings settings;
+    private final AtomicLong sharedBlocks = new AtomicLong();
+
+    @Autowired
+    public LoginThrottle(LoginBlockRepository loginBlockRepository, MeterRegistry meterRegistry,
+                         @Value("${app.security.login-throttle.account-threshold:5}") int accountThreshold,
+                         @Value("${app.security.login-throttle.ip-threshold:20}") int ipThreshold,
+                         @Value("${app.security.login-throttle.base-delay:2s}") Duration baseDelay,
+                         @Value("${app.security.login-throttle.max-delay:15m}") Duration maxDelay,
+                         @Value("${app.security.login-throttle.half-life:15m}") Duration halfLife,
+                         @Value("${app.security.login-throttle.max-keys:100000}") long maxKeys,
+                         @Value("${app.security.login-throttle.shared:false}") boolean shared) {
+        this(loginBlockRepository, meterRegistry, System::currentTimeMillis,
+            new Settings(accountThreshold, ipThreshold, baseDelay, maxDelay, halfLife, maxKeys, shared));
+    }
+
+    LoginThrottle(LoginBlockRepository loginBlockRepository, MeterRegistry meterRegistry, LongSupplier clock,
+                  Settings settings) {
+        this.loginBlockRepository = loginBlockRepository;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.settings = settings;
+
+        // After four half-lives a score has dropped below a sixteenth and can be forgotten
+        Duration idle = settings.halfLife().multipliedBy(4);
+        this.scores = Caffeine.newBuilder()
+            .maximumSize(settings.maxKeys())
+            .expireAfterWrite(Math.max(idle.toMillis(), settings.maxDelay().toMillis()), TimeUnit.MILLISECONDS)
+            .build();
+
+        Gauge.builder("app.login.throttle.tracked", scores, Cache::estimatedSize)
+            .description("Accounts and client addresses with recent failed logins")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Rejects the attempt if the account or the client address is currently blocked.
+     *
+     * @param username the submitted username, may be {@code null}
+     * @param ip       the client address, may be {@code null}
+     * @throws LoginThrottledException if either key is blocked
+     */
+    public void checkAllowed(String username, String ip) {
+        long now = clock.getAsLong();
+        long blockedUntil = Math.max(localBlockedUntil(accountKey(username)), localBlockedUntil(ipKey(ip)));
+
+        if (blockedUntil <= now && settings.shared())
+            blockedUntil = sharedBlockedUntil(accountKey(username), ipKey(ip));
+
+        if (blockedUntil > now) {
+            Counter.builder("app.login.throttle.rejected")
+                .description("Login attempts rejected without checking the password")
+                .register(meterRegistry)
+                .increment();
+            throw new LoginThrottledException(Duration.ofMillis(blockedUntil - now));
+        }
+    }
+
+    public void loginFailed(String username, String ip) {
+        recordFailure(accountKey(username), ACCOUNT, settings.accountThreshold());
+        recordFailure(ipKey(ip), IP, settings.ipThreshold());
+    }
+
+    // The address keeps its score, otherwise one valid credential would reset a credential-stuffing source
+    public void loginSucceeded(String username) {
+        String key = accountKey(username);
+        if (key != null)
+            scores.invalidate(key);
+    }
+
+    private void recordFailure(String key, String scope, int threshold) {
+        if (key == null)
+            return;
+
+        long now = clock.getAsLong();
+        FailureScore updated = scores.asMap().compute(key, (k, current) -> {
+            double score = (current == null ? 0 : current.decayedAt(now, settings.halfLife())) + 1;
+            // Rounded, so failures in quick succession count in full despite the decay between them
+            if (Math.round(score) < threshold)
+                return new FailureScore(score, now, current == null ? 0 : current.blockedUntil(), 0);
+
+            // Double the delay for every block since the score last dropped below the threshold
+            int blocks = current == null ? 0 : current.blocks();
+            long delay = Math.min(settings.maxDelay().toMillis(), settings.baseDelay().toMillis() << Math.min(30, blocks));
+            return new FailureScore(score, now, now + delay, blocks + 1);
+        });
+
+        if (updated.blocks() > 0) {
+            Counter.builder("app.login.throttle.blocks")
+                .description("Accounts and client addresses blocked after repeated failed logins")
+                .tag("scope", scope)
+                .register(meterRegistry)
+                .increment();
+
+            if (settings.shared())
+                share(key, updated.blockedUntil(), now);
+        }
+    }
+
+    private void share(String key, long blockedUntil, long now) {
+        loginBlockRepository.save(new LoginBlock(key, blockedUntil));
+        if (sharedBlocks.incrementAndGet() % CLEANUP_INTERVAL == 0)
+            loginBlockRepository.deleteExpired(now);
+    }
+
+    private long localBlockedUntil(String key) {
+        if (key == null)
+            return 0;
+        FailureScore score = scores.getIfPresent(key);
+        return score == null ? 0 : score.blockedUntil();
+    }
+
+    private long sharedBlockedUntil(String accountKey, String ipKey) {
+        List<String> keys = Stream.of(accountKey, ipKey).filter(Objects::nonNull).toList();
+        if (keys.isEmpty())
+            return 0;
+        return loginBlockRepository.findAllById(keys).stream()
+            .mapToLong(LoginBlock::getBlockedUntil)
+            .max()
+            .orElse(0);
+    }
+
+    private static String accountKey(String username) {
+        return username == null || username.isBlank() ? null : ACCOUNT + ":" + username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String ipKey(String ip) {
+        return ip == null || ip.isBlank() ? null : IP + ":" + ip;
+    }
+
+    record Settings(int accountThreshold, int ipThreshold, Duration baseDelay, Duration maxDelay, Duration halfLife,
+                    long maxKeys, boolean shared) {
+    }
+
+    private record FailureScore(double score, long updatedAt, long blockedUntil, int blocks) {
+
+        double decayedAt(long now, Duration halfLife) {
+            double halfLives = Math.max(0, now - updatedAt) / (double) halfLife.toMillis();
+            return score * Math.pow(0.5, halfLives);
+        }
+    }
+
+    /**
+     * Thrown when a login is attempted for an account or from an address that is temporarily blocked.
+     * It is not a {@link org.springframework.security.authentication.BadCredentialsException}, so a
+     * rejected attempt does not extend the block.
+     */
+    public static class LoginThrottledException extends AuthenticationException {
+
+        private final Duration retryAfter;
+
+        public LoginThrottledException(Duration retryAfter) {
+            super("Too many failed login attempts");
+            this.retryAfter = retryAfter;
+        }
+
+        public long getRetryAfterSeconds() {
+            return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        }
+    }
+}
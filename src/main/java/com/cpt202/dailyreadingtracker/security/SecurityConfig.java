@@ -1,21 +1,38 @@
 package com.cpt202.dailyreadingtracker.security;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.InternalAuthenticationServiceException;
-import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.AuthenticationFailureHandler;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
 import org.springframework.security.web.authentication.LoginUrlAuthenticationEntryPoint;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
 
+import com.cpt202.dailyreadingtracker.security.BoundedPasswordEncoder.PasswordHashingBusyException;
 import com.cpt202.dailyreadingtracker.security.CustomUserDetailsService.AccountFrozenException;
+import com.cpt202.dailyreadingtracker.security.LoginThrottle.LoginThrottledException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
 
 // Configiration defining application security policies
 
@@ -23,19 +40,68 @@ import com.cpt202.dailyreadingtracker.security.CustomUserDetailsService.AccountF
 @EnableWebSecurity
 public class SecurityConfig {
 
+    // The only PasswordEncoder bean, so Spring Security also uses it to verify logins and to rehash
+    // passwords stored with a lower strength (see CustomUserDetailsService.updatePassword)
+    @Bean
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+            @Value("${app.security.password.bcrypt-strength:10}") int strength,
+            @Value("${app.security.password.hashing-threads:0}") int threads,
+            @Value("${app.security.password.queue-capacity:64}") int queueCapacity,
+            @Value("${app.security.password.max-wait:2s}") Duration maxWait) {
+        // Leave half of the cores to the rest of the application by default
+        int hashingThreads = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), hashingThreads, queueCapacity,
+            maxWait, meterRegistry);
+    }
+
+    // Form login and API token login both use this manager, so every password check goes through the throttle.
+    // The provider is not a bean of its own: next to the UserDetailsService bean, Spring Security would warn that
+    // it cannot build the global manager from both
     @Bean
-    public BCryptPasswordEncoder bCryptPasswordEncoder() {
-        return new BCryptPasswordEncoder();
+    public AuthenticationManager authenticationManager(CustomUserDetailsService userDetailsService,
+            PasswordEncoder passwordEncoder, LoginThrottle loginThrottle) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserDetailsPasswordService(userDetailsService);
+
+        return new ProviderManager(new ThrottlingAuthenticationProvider(provider, loginThrottle));
     }
 
+    // Prometheus scrapes with HTTP basic as a dedicated account that can do nothing else. It is checked by its own
+    // AuthenticationManager, so scrapes bypass the login throttle and never reach the user table. The password
+    // is stored encoded (e.g. {bcrypt}...); while it is empty, every scrape is rejected.
     @Bean
-    public AuthenticationManager authenticationManager(AuthenticationConfiguration authConfig) throws Exception {
-        return authConfig.getAuthenticationManager();
+    @Order(1)
+    @ConditionalOnWebApplication
+    public SecurityFilterChain prometheusFilterChain(HttpSecurity http,
+            @Value("${app.metrics.scraper.username:prometheus}") String username,
+            @Value("${app.metrics.scraper.password:}") String password) throws Exception {
+        InMemoryUserDetailsManager scrapers = new InMemoryUserDetailsManager();
+        if (!password.isBlank())
+            scrapers.createUser(User.withUsername(username).password(password).roles("METRICS").build());
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(scrapers);
+        provider.setPasswordEncoder(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+
+        http
+            .securityMatcher("/actuator/prometheus")
+            .authorizeHttpRequests(auth -> auth.anyRequest().hasRole("METRICS"))
+            .authenticationManager(new ProviderManager(provider))
+            .httpBasic(Customizer.withDefaults())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .csrf(csrf -> csrf.disable());
+
+        return http.build();
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    @Order(2)
+    @ConditionalOnWebApplication
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationManager authenticationManager)
+            throws Exception {
         http
+            .authenticationManager(authenticationManager)
             .csrf(csrf -> csrf
                 .ignoringRequestMatchers("/api/**") 
                 .csrfTokenRepository(CookieCsrfTokenRepository.withHttpOnlyFalse())
@@ -63,8 +129,10 @@ public class SecurityConfig {
                     "/reset-password",
                     "/logout",
                     "/account-frozen",
-                    "/error"
+                    "/error",
+                    "/actuator/health"
                 ).permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .requestMatchers("/home").hasRole("USER") 
                 .requestMatchers("/progress").hasRole("USER") 
                 .requestMatchers("/profile").hasRole("USER") 
@@ -73,6 +141,7 @@ public class SecurityConfig {
                 .requestMatchers("/viologs").hasRole("ADMIN")
                 .requestMatchers("/admin-profile").hasRole("ADMIN")
                 .requestMatchers("/getviologs").hasRole("ADMIN")
+                .requestMatchers("/admin/events").hasRole("ADMIN")
                 .requestMatchers("/sorted_admin_userlist").hasRole("ADMIN")
                 .requestMatchers("/sorted_admin_userlist/**").hasRole("ADMIN")
                 
@@ -113,6 +182,17 @@ public class SecurityConfig {
     @Bean
     public AuthenticationFailureHandler authenticationFailureHandler() {
         return (request, response, exception) -> {
+            if (exception instanceof PasswordHashingBusyException) {
+                response.setHeader("Retry-After", String.valueOf(PasswordHashingBusyException.RETRY_AFTER_SECONDS));
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                return;
+            }
+
+            if (exception instanceof LoginThrottledException) {
+                response.sendRedirect("/auth?throttled=true");
+                return;
+            }
+
             String email = request.getParameter("username");
             String redirectUrl = "/auth?error=true";
             
@@ -0,0 +1,62 @@
+package com.cpt202.dailyreadingtracker.security;
+
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link AuthenticationProvider} that consults {@link LoginThrottle} before delegating, so a blocked account
+ * or address is rejected without loading the user or hashing the password.
+ * <p>
+ * Only {@link BadCredentialsException} counts as a failure; frozen or unverified accounts and a saturated
+ * hashing pool are not the caller guessing passwords.
+ * </p>
+ */
+
+@RequiredArgsConstructor
+public class ThrottlingAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegate;
+    private final LoginThrottle loginThrottle;
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String username = authentication.getName();
+        String ip = remoteAddress(authentication);
+
+        loginThrottle.checkAllowed(username, ip);
+
+        try {
+            Authentication result = delegate.authenticate(authentication);
+            if (result != null)
+                loginThrottle.loginSucceeded(username);
+            return result;
+        } catch (BadCredentialsException e) {
+            loginThrottle.loginFailed(username, ip);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    // Form login attaches the address as details; API logins are resolved from the current request
+    private static String remoteAddress(Authentication authentication) {
+        if (authentication.getDetails() instanceof WebAuthenticationDetails details)
+            return details.getRemoteAddress();
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes)
+            return servletAttributes.getRequest().getRemoteAddr();
+        return null;
+    }
+}
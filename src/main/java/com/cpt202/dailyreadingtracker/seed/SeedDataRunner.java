@@ -0,0 +1,37 @@
+package com.cpt202.dailyreadingtracker.seed;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Fills the configured database with synthetic data on startup when the {@code seed} profile is active, e.g.
+ * {@code mvn spring-boot:run -Dspring-boot.run.profiles=seed -Dspring-boot.run.arguments=--app.seed.users=100000}.
+ * The application exits afterwards unless {@code app.seed.exit-on-completion=false}.
+ */
+
+@Component
+@Profile("seed")
+@EnableConfigurationProperties(SeedProperties.class)
+@RequiredArgsConstructor
+public class SeedDataRunner implements ApplicationRunner {
+
+    private final SyntheticDataGenerator generator;
+    private final SeedProperties seedProperties;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        generator.generate(seedProperties);
+
+        if (seedProperties.isExitOnCompletion()) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.cpt202.dailyreadingtracker.seed;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings for {@link SyntheticDataGenerator}, bound from {@code app.seed.*} when the {@code seed} profile is active.
+ * The defaults describe a medium-sized installation; the same seed always produces the same data.
+ */
+
+@Data
+@ConfigurationProperties(prefix = "app.seed")
+public class SeedProperties {
+
+    private long seed = 42L;
+
+    private int users = 10_000;
+    private int admins = 1;
+    private String usernamePrefix = "seed";
+    private String password = "Password123";
+    private double frozenRatio = 0.02;
+
+    private int books = 5_000;
+    // Zipf exponent for book popularity; higher values concentrate reading on fewer books
+    private double bookPopularitySkew = 1.1;
+
+    // Logs per user are exponentially distributed around this mean, so a few users have very long histories
+    private double meanLogsPerUser = 50;
+    // Chance that a new log continues a book the user is already reading, extending its previousVersion chain
+    private double continueBookRatio = 0.7;
+    private double violationRatio = 0.01;
+    private int daysOfHistory = 730;
+
+    private int batchSize = 1_000;
+    private boolean exitOnCompletion = true;
+}
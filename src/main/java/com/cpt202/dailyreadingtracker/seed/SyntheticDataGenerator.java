@@ -0,0 +1,253 @@
+package com.cpt202.dailyreadingtracker.seed;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.Data;
+
+/**
+ * Writes large volumes of synthetic users, reading logs and violation logs through batched JDBC.
+ * <ul>
+ *     <li>Book popularity follows a Zipf distribution over a fixed catalogue</li>
+ *     <li>Logs per user are exponentially distributed, giving a long tail of heavy readers</li>
+ *     <li>Re-reading a book links the new log to the previous one through {@code previous_version_id}</li>
+ *     <li>A share of logs are written as violation logs and a share of users are frozen</li>
+ * </ul>
+ * IDs are assigned here rather than by the database so version chains can be written in one pass.
+ * For MySQL, add {@code rewriteBatchedStatements=true} to the JDBC URL to get multi-row inserts.
+ * Rows are written around Hibernate, so run it before the application serves traffic or the second-level cache may miss them.
+ */
+
+@Component
+public class SyntheticDataGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String INSERT_USER = "INSERT INTO users " +
+            "(id, username, email, password, is_enabled, is_freezed, times_flagged) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_USER_ROLE = "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+    private static final String INSERT_READING_LOG = "INSERT INTO reading_logs " +
+            "(id, user_id, title, author, date, time_spent, current_page, total_pages, notes, created_at, updated_at, " +
+            "previous_version_id, is_current) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_VIOLATION_LOG = "INSERT INTO violation_log " +
+            "(id, user_id, username, title, author, date, time_spent, current_page, total_pages, reason, notes, " +
+            "created_at, deleted_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                  PasswordEncoder passwordEncoder) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    /**
+     * Generates the data set described by the given settings, appending to any existing rows.
+     *
+     * @param settings the volumes, distributions and random seed to use
+     * @return the number of rows written per entity
+     */
+    public Summary generate(SeedProperties settings) {
+        Random random = new Random(settings.getSeed());
+        double[] popularity = cumulativeZipf(settings.getBooks(), settings.getBookPopularitySkew());
+        String passwordHash = passwordEncoder.encode(settings.getPassword());
+        long userRoleId = roleId("ROLE_USER");
+        long adminRoleId = roleId("ROLE_ADMIN");
+
+        long nextUserId = maxId("users") + 1;
+        long nextLogId = Math.max(maxId("reading_logs"), maxId("violation_log")) + 1;
+
+        Batch batch = new Batch();
+        Summary summary = new Summary();
+
+        for (int i = 0; i < settings.getUsers(); i++) {
+            boolean admin = i < settings.getAdmins();
+            long userId = nextUserId++;
+            String username = settings.getUsernamePrefix() + (admin ? "admin" + i : String.valueOf(i - settings.getAdmins()));
+            boolean frozen = !admin && random.nextDouble() < settings.getFrozenRatio();
+
+            int logCount = (int) Math.round(-settings.getMeanLogsPerUser() * Math.log(1 - random.nextDouble()));
+            LocalDate[] dates = new LocalDate[logCount];
+            for (int j = 0; j < logCount; j++) {
+                dates[j] = LocalDate.now().minusDays(random.nextInt(settings.getDaysOfHistory()));
+            }
+            Arrays.sort(dates);
+
+            Map<Integer, Object[]> lastLogByBook = new HashMap<>();
+            List<Integer> booksInProgress = new ArrayList<>();
+            List<Object[]> logs = new ArrayList<>();
+            List<Object[]> violations = new ArrayList<>();
+
+            for (LocalDate date : dates) {
+                int book;
+                if (!booksInProgress.isEmpty() && random.nextDouble() < settings.getContinueBookRatio()) {
+                    book = booksInProgress.get(random.nextInt(booksInProgress.size()));
+                } else {
+                    book = sample(popularity, random);
+                }
+
+                int totalPages = 80 + (book * 37) % 720;
+                Object[] previous = lastLogByBook.get(book);
+                int previousPage = previous == null ? 0 : (Integer) previous[6];
+                int currentPage = Math.min(totalPages, previousPage + 1 + random.nextInt(40));
+                int timeSpent = 5 + random.nextInt(120);
+                String notes = random.nextInt(3) == 0 ? null : SyntheticText.sentence(random);
+                Timestamp createdAt = Timestamp.valueOf(date.atTime(8 + random.nextInt(14), random.nextInt(60)));
+                long logId = nextLogId++;
+
+                if (random.nextDouble() < settings.getViolationRatio()) {
+                    violations.add(new Object[] {
+                        logId, userId, username, SyntheticText.title(book), author(book), Date.valueOf(date), timeSpent,
+                        currentPage, totalPages, "Violation of content policy", notes, createdAt,
+                        Timestamp.valueOf(LocalDateTime.now())
+                    });
+                    continue;
+                }
+
+                if (previous != null) {
+                    previous[12] = false;
+                } else {
+                    booksInProgress.add(book);
+                }
+
+                Object[] log = {
+                    logId, userId, SyntheticText.title(book), author(book), Date.valueOf(date), timeSpent, currentPage,
+                    totalPages, notes, createdAt, createdAt, previous == null ? null : previous[0], true
+                };
+                logs.add(log);
+                lastLogByBook.put(book, log);
+
+                if (currentPage == totalPages) {
+                    booksInProgress.remove(Integer.valueOf(book));
+                }
+            }
+
+            batch.users.add(new Object[] {
+                userId, username, username + "@example.com", passwordHash, true, frozen, violations.size()
+            });
+            batch.userRoles.add(new Object[] { userId, admin ? adminRoleId : userRoleId });
+            batch.readingLogs.addAll(logs);
+            batch.violationLogs.addAll(violations);
+
+            summary.users++;
+            summary.frozenUsers += frozen ? 1 : 0;
+            summary.readingLogs += logs.size();
+            summary.violationLogs += violations.size();
+
+            if (batch.size() >= settings.getBatchSize()) {
+                flush(batch, settings.getBatchSize());
+            }
+            if (summary.users % 10_000 == 0) {
+                logger.info("Seeded {} of {} users ({} reading logs)", summary.users, settings.getUsers(), summary.readingLogs);
+            }
+        }
+
+        flush(batch, settings.getBatchSize());
+        logger.info("Seeding finished: {}", summary);
+
+        return summary;
+    }
+
+    private void flush(Batch batch, int batchSize) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_USER, batch.users, batchSize, this::setValues);
+            jdbcTemplate.batchUpdate(INSERT_USER_ROLE, batch.userRoles, batchSize, this::setValues);
+            jdbcTemplate.batchUpdate(INSERT_READING_LOG, batch.readingLogs, batchSize, this::setValues);
+            jdbcTemplate.batchUpdate(INSERT_VIOLATION_LOG, batch.violationLogs, batchSize, this::setValues);
+        });
+        batch.clear();
+    }
+
+    private void setValues(PreparedStatement statement, Object[] row) throws SQLException {
+        for (int i = 0; i < row.length; i++) {
+            statement.setObject(i + 1, row[i]);
+        }
+    }
+
+    private long roleId(String name) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM roles WHERE name = ?", Long.class, name);
+        if (!ids.isEmpty()) {
+            return ids.get(0);
+        }
+
+        jdbcTemplate.update("INSERT INTO roles (name) VALUES (?)", name);
+        return jdbcTemplate.queryForObject("SELECT id FROM roles WHERE name = ?", Long.class, name);
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 0 : max;
+    }
+
+    private static double[] cumulativeZipf(int books, double skew) {
+        double[] cumulative = new double[books];
+        double total = 0;
+        for (int i = 0; i < books; i++) {
+            total += 1 / Math.pow(i + 1, skew);
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < books; i++) {
+            cumulative[i] /= total;
+        }
+        return cumulative;
+    }
+
+    private static int sample(double[] cumulative, Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index < 0 ? -index - 1 : index, cumulative.length - 1);
+    }
+
+    private static String author(int book) {
+        return "Author " + book % 997;
+    }
+
+    private static class Batch {
+        private final List<Object[]> users = new ArrayList<>();
+        private final List<Object[]> userRoles = new ArrayList<>();
+        private final List<Object[]> readingLogs = new ArrayList<>();
+        private final List<Object[]> violationLogs = new ArrayList<>();
+
+        private int size() {
+            return readingLogs.size() + violationLogs.size();
+        }
+
+        private void clear() {
+            users.clear();
+            userRoles.clear();
+            readingLogs.clear();
+            violationLogs.clear();
+        }
+    }
+
+    /**
+     * Row counts written by one {@link #generate(SeedProperties)} call.
+     */
+    @Data
+    public static class Summary {
+        private int users;
+        private int frozenUsers;
+        private long readingLogs;
+        private long violationLogs;
+    }
+}
@@ -0,0 +1,36 @@
+package com.cpt202.dailyreadingtracker.seed;
+
+import java.util.Random;
+
+/**
+ * Book titles and note text shared by {@link SyntheticDataGenerator} and the JMH benchmark data,
+ * so seeded databases and in-memory benchmarks filter over the same vocabulary.
+ */
+
+public final class SyntheticText {
+
+    private static final String[] WORDS = {
+        "silent", "river", "garden", "shadow", "winter", "empire", "letters", "stone",
+        "ocean", "memory", "light", "forest", "city", "night", "journey", "house"
+    };
+
+    private SyntheticText() {}
+
+    public static String title(int book) {
+        return "The " + capitalize(WORDS[book % WORDS.length]) + " of "
+                + capitalize(WORDS[(book / WORDS.length) % WORDS.length]) + " " + book;
+    }
+
+    public static String sentence(Random random) {
+        StringBuilder sentence = new StringBuilder();
+        int words = 5 + random.nextInt(20);
+        for (int i = 0; i < words; i++) {
+            sentence.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return sentence.toString().trim();
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
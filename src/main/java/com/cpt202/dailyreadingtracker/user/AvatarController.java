@@ -0,0 +1,172 @@
+package com.cpt202.dailyreadingtracker.user;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.cpt202.dailyreadingtracker.utils.FileStorageService;
+import com.cpt202.dailyreadingtracker.utils.FileStorageService.InvalidAvatarNameException;
+import com.cpt202.dailyreadingtracker.utils.FileStorageService.StoredAvatar;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Controller serving stored avatars from {@code /uploads/<file name>}.
+ * <p>
+ * An avatar's name never changes content (it is the hash of the image), so responses may be cached for a year
+ * as immutable and the name is a strong ETag. {@code If-None-Match} and {@code If-Modified-Since} are answered
+ * with 304 without opening the file. A single {@code Range} is served as 206; requests for several ranges get
+ * the whole file.
+ * </p>
+ * <p>
+ * Small thumbnails come from memory (see {@link FileStorageService#openAvatar(String)}). Larger files are handed
+ * to Tomcat's sendfile when the connector supports it, and otherwise copied with {@link FileChannel#transferTo}.
+ * </p>
+ */
+
+@Controller
+@RequiredArgsConstructor
+public class AvatarController {
+
+    static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String CACHE_CONTROL =
+        CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable().getHeaderValue();
+
+    private final FileStorageService fileStorageService;
+
+    private static final Logger logger = LoggerFactory.getLogger(AvatarController.class);
+
+    @GetMapping("/uploads/{filename}")
+    public void serveAvatar(@PathVariable String filename, HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        StoredAvatar avatar;
+        try {
+            avatar = fileStorageService.openAvatar(filename);
+        } catch (InvalidAvatarNameException e) {
+            avatar = null;
+        } catch (IOException e) {
+            // Answered here, as the application's exception handler would report it as a bad request
+            logger.error("Failed to read avatar {}", filename, e);
+            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            return;
+        }
+
+        if (avatar == null) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        String etag = "\"" + filename + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (new ServletWebRequest(request, response).checkNotModified(etag, avatar.lastModified()))
+            return;
+
+        long start = 0;
+        long length = avatar.size();
+
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && rangeApplies(request, etag, avatar.lastModified())) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+
+            if (ranges.size() == 1) {
+                start = ranges.get(0).getRangeStart(avatar.size());
+                long end = ranges.get(0).getRangeEnd(avatar.size());
+
+                if (start >= avatar.size() || start > end) {
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + avatar.size());
+                    return;
+                }
+
+                length = end - start + 1;
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + avatar.size());
+            }
+        }
+
+        response.setContentType(MediaTypeFactory.getMediaType(filename)
+            .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setContentLengthLong(length);
+
+        if (HttpMethod.HEAD.matches(request.getMethod()) || length == 0)
+            return;
+
+        if (avatar.content() != null) {
+            response.getOutputStream().write(avatar.content(), (int) start, (int) length);
+        } else if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, avatar.path().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+        } else {
+            transfer(avatar, start, length, response);
+        }
+    }
+
+    // A Range only applies if the If-Range validator, when sent, still matches this file
+    private static boolean rangeApplies(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null)
+            return true;
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/"))
+            return ifRange.equals(etag);
+
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) == lastModified / 1000 * 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static void transfer(StoredAvatar avatar, long start, long length,
+                                 HttpServletResponse response) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(avatar.path(), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            // Deleted or migrated since it was looked up; nothing has been written yet
+            response.reset();
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        try (channel) {
+            WritableByteChannel output = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long end = start + length;
+            while (position < end)
+                position += channel.transferTo(position, end - position, output);
+        }
+    }
+}
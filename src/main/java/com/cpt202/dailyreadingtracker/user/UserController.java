@@ -1,24 +1,36 @@
 package com.cpt202.dailyreadingtracker.user;
 
+import org.apache.commons.fileupload2.core.DiskFileItem;
+import org.apache.commons.fileupload2.core.DiskFileItemFactory;
+import org.apache.commons.fileupload2.core.FileItemInput;
+import org.apache.commons.fileupload2.core.FileItemInputIterator;
+import org.apache.commons.fileupload2.core.FileUploadException;
+import org.apache.commons.fileupload2.core.FileUploadSizeException;
+import org.apache.commons.fileupload2.jakarta.servlet6.JakartaServletFileUpload;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.security.Principal;
 import java.util.Map;
 
+import com.cpt202.dailyreadingtracker.utils.AvatarSize;
 import com.cpt202.dailyreadingtracker.utils.EmailService;
 import com.cpt202.dailyreadingtracker.utils.FileStorageService;
+import com.cpt202.dailyreadingtracker.utils.UploadInputStream.UploadRejectedException;
 import com.cpt202.dailyreadingtracker.violationlog.ViolationLogRepository;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -43,6 +55,7 @@ public class UserController {
     private final EmailService emailService;
     private final PasswordEncoder passwordEncoder;
     private final ViolationLogRepository violationLogRepository;
+    private final UserCache userCache;
 
     @Value("${app.uploads.dir}")
     private String uploadDir;
@@ -50,6 +63,9 @@ public class UserController {
     @Value("${app.uploads.host}")
     private String host;
 
+    @Value("${spring.servlet.multipart.max-request-size}")
+    private DataSize maxRequestSize;
+
     @GetMapping("/profile")
     public String getUserProfilePage(Model model, Principal principal) {
         try {
@@ -58,6 +74,7 @@ public class UserController {
 
             model.addAttribute("user", user);
             model.addAttribute("imgHost", host);
+            addAvatarAttributes(model, user);
         } catch (Exception e) {
             model.addAttribute("error", "Failed to load user profile");
         }
@@ -72,6 +89,7 @@ public class UserController {
 
             model.addAttribute("user", user);
             model.addAttribute("imgHost", host);
+            addAvatarAttributes(model, user);
         } catch (Exception e) {
             model.addAttribute("error", "Failed to load user profile");
         }
@@ -79,45 +97,82 @@ public class UserController {
         return "admin/admin-profile";
     }
 
+    /**
+     * Replaces the user's avatar with the {@code avatar} part of a multipart request.
+     * <p>
+     * The body is parsed here as it arrives rather than by Spring up front, so the part is fed straight into
+     * {@link FileStorageService#storeAvatar(InputStream, String)} and an oversized or non-image upload is
+     * refused after its first bytes instead of after it has been spooled to disk.
+     * </p>
+     */
     @PutMapping("/user-profile/{userId}/avatar")
-    public ResponseEntity<?> updateAvatar(@PathVariable Long userId,@RequestParam("avatar") MultipartFile avatar) {
+    public ResponseEntity<?> updateAvatar(@PathVariable Long userId, HttpServletRequest request) {
         try {
-            if (avatar.isEmpty()) {
-                return ResponseEntity.badRequest().body("File is empty");
-            }
-            
-            String contentType = avatar.getContentType();
-            if (!"image/jpeg".equalsIgnoreCase(contentType) && !"image/png".equalsIgnoreCase(contentType)) {
-                return ResponseEntity.badRequest().body("Only JPEG/PNG images allowed");
-            }
-            
             User user = userRepository.findById(userId)
                     .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-            
-            if (user.getAvatarFileName() != null) {
-                try {
-                    fileStorageService.deleteAvatar(user.getAvatarFileName());
-                } catch (IOException e) {
-                    System.err.println("Could not delete old avatar: " + e.getMessage());
+
+            String filename = null;
+            FileItemInputIterator parts = avatarUpload().getItemIterator(request);
+            while (parts.hasNext()) {
+                FileItemInput part = parts.next();
+                if (!part.isFormField() && "avatar".equals(part.getFieldName())) {
+                    try (InputStream avatar = part.getInputStream()) {
+                        filename = fileStorageService.storeAvatar(avatar, user.getUsername());
+                    }
+                    break;
                 }
             }
-            
-            String filename = fileStorageService.storeAvatar(avatar, user.getUsername());
+
+            if (filename == null) {
+                return ResponseEntity.badRequest().body("File is empty");
+            }
+
+            String oldFilename = user.getAvatarFileName();
             user.setAvatarFileName(filename);
 
             userRepository.save(user);
+
+            // Only once the user no longer refers to it, as other users may share the same file
+            if (oldFilename != null && !oldFilename.equals(filename)) {
+                try {
+                    fileStorageService.deleteAvatar(oldFilename);
+                } catch (IOException e) {
+                    System.err.println("Could not delete old avatar: " + e.getMessage());
+                }
+            }
             
             return ResponseEntity.ok().body(Map.of(
                 "message", "Avatar updated successfully",
-                "filename", filename
+                "filename", filename,
+                "thumbnail", AvatarSize.MEDIUM.variantOf(filename)
             ));
             
+        } catch (UploadRejectedException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (FileUploadSizeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body("Upload exceeds " + maxRequestSize.toMegabytes() + " MB");
+        } catch (FileUploadException e) {
+            return ResponseEntity.badRequest().body("Invalid upload: " + e.getMessage());
         } catch (IOException e) {
             return ResponseEntity.internalServerError()
                     .body("File upload failed: " + e.getMessage());
         }
     }
 
+    // Parts are streamed, never buffered, so there is no item factory; the request as a whole is still capped
+    private JakartaServletFileUpload<DiskFileItem, DiskFileItemFactory> avatarUpload() {
+        JakartaServletFileUpload<DiskFileItem, DiskFileItemFactory> upload = new JakartaServletFileUpload<>();
+        upload.setSizeMax(maxRequestSize.toBytes());
+        return upload;
+    }
+
+    // Profile pages show the avatar at 120 CSS pixels: the medium variant, or the large one on high-density screens
+    private static void addAvatarAttributes(Model model, User user) {
+        model.addAttribute("avatarFileName", AvatarSize.MEDIUM.variantOf(user.getAvatarFileName()));
+        model.addAttribute("avatarFileName2x", AvatarSize.LARGE.variantOf(user.getAvatarFileName()));
+    }
+
     @PostMapping("/user-profile/change-password")
     public ResponseEntity<?> changePassword(@RequestBody PasswordChangeRequest request, Principal principal) {
         User user = userRepository.findByEmail(principal.getName())
@@ -130,6 +185,7 @@ public class UserController {
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
 
         userRepository.save(user);
+        userCache.removeUserFromCache(user.getEmail());
         
         emailService.sendPasswordChangeNotification(user);
         
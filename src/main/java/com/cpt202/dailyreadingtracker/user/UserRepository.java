@@ -1,12 +1,23 @@
 package com.cpt202.dailyreadingtracker.user;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.QueryHint;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Resolved on every authenticated request, so the result is kept in the query cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
 
     Optional<User> findByUsername(String username);
@@ -16,4 +27,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
+
+    // Avatar files are content-addressed and shared, so a file may only be deleted once no user refers to it
+    boolean existsByAvatarFileName(String avatarFileName);
+
+    // Which of a batch of upload names are still referenced, answered from idx_users_avatar_file_name
+    @Query("SELECT DISTINCT u.avatarFileName FROM User u WHERE u.avatarFileName IN :names")
+    List<String> findAvatarFileNamesIn(@Param("names") Collection<String> names);
+
+    // Fetches roles and verification tokens in the same query so bulk admin operations do not load them per user
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.roles LEFT JOIN FETCH u.verificationToken WHERE u.id IN :ids")
+    List<User> findAllWithRolesByIdIn(@Param("ids") Collection<Long> ids);
 }
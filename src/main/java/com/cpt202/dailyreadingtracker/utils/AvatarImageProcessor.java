@@ -0,0 +1,294 @@
+package com.cpt202.dailyreadingtracker.utils;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+
+import org.w3c.dom.Node;
+
+import com.cpt202.dailyreadingtracker.utils.UploadInputStream.UploadRejectedException;
+
+/**
+ * Decodes an uploaded avatar once and re-encodes it into every {@link AvatarSize}.
+ * <p>
+ * The format is taken from the file's leading bytes rather than the declared content type. JPEGs are first
+ * turned upright according to their EXIF orientation, as phone cameras store pixels in sensor order. Images
+ * are then center-cropped to a square and scaled down in halving steps, which keeps them sharp without a
+ * costly single large resample. Re-encoding from pixels drops EXIF, GPS and other metadata from the upload.
+ * </p>
+ */
+
+public class AvatarImageProcessor {
+
+    // Rejects decompression bombs before any pixels are allocated
+    static final long MAX_PIXELS = 40_000_000L;
+    static final float JPEG_QUALITY = 0.85f;
+
+    private static final String JPEG_METADATA_FORMAT = "javax_imageio_jpeg_image_1.0";
+    private static final int APP1_MARKER = 0xE1;
+    private static final int ORIENTATION_TAG = 0x0112;
+    private static final int UPRIGHT = 1;
+
+    /**
+     * Image formats accepted for avatars, identified by their signature bytes.
+     */
+    public enum ImageFormat {
+        PNG("png", "image/png", new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}),
+        JPEG("jpeg", "image/jpeg", new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF});
+
+        static final int SIGNATURE_LENGTH = 8;
+
+        private final String extension;
+        private final String contentType;
+        private final byte[] signature;
+
+        ImageFormat(String extension, String contentType, byte[] signature) {
+            this.extension = extension;
+            this.contentType = contentType;
+            this.signature = signature;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        /**
+         * Identifies the format from the first bytes of a file.
+         *
+         * @param header at least the first {@value #SIGNATURE_LENGTH} bytes of the file, or all of a shorter one
+         * @return the matching format
+         * @throws UploadRejectedException if the bytes are not a PNG or JPEG signature
+         */
+        public static ImageFormat detect(byte[] header) throws UploadRejectedException {
+            for (ImageFormat format : values())
+                if (header.length >= format.signature.length
+                        && Arrays.equals(header, 0, format.signature.length, format.signature, 0, format.signature.length))
+                    return format;
+
+            throw new UploadRejectedException("Invalid file type. Only JPEG/PNG images are allowed");
+        }
+    }
+
+    /**
+     * Decodes the image and encodes one variant per {@link AvatarSize}.
+     *
+     * @param input  the uploaded image
+     * @param format the format detected from the upload's signature
+     * @return the encoded variants in {@code format}
+     * @throws IOException if the image cannot be decoded or is too large
+     */
+    public Map<AvatarSize, byte[]> process(InputStream input, ImageFormat format) throws IOException {
+        BufferedImage square = cropToSquare(decode(input, format));
+        boolean keepAlpha = format == ImageFormat.PNG && square.getColorModel().hasAlpha();
+
+        Map<AvatarSize, byte[]> variants = new EnumMap<>(AvatarSize.class);
+        for (AvatarSize size : AvatarSize.values())
+            variants.put(size, encode(scale(square, size.getPixels(), keepAlpha), format));
+
+        return variants;
+    }
+
+    // ImageIO.createImageInputStream would spool the whole upload to a temp file first; this caches in memory
+    // only what the reader seeks back over
+    private static BufferedImage decode(InputStream input, ImageFormat format) throws IOException {
+        try (ImageInputStream stream = new MemoryCacheImageInputStream(input)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReadersByFormatName(format.getExtension());
+            if (!readers.hasNext())
+                throw new IOException("Could not read image");
+
+            ImageReader reader = readers.next();
+            try {
+                // PNG metadata is never needed, so its reader can skip it
+                reader.setInput(stream, true, format == ImageFormat.PNG);
+                if (pixelCount(reader) > MAX_PIXELS)
+                    throw new IOException("Image dimensions are too large");
+
+                int orientation = format == ImageFormat.JPEG ? exifOrientation(reader) : UPRIGHT;
+                return orient(readImage(reader), orientation);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Reads only the header, so an oversized image is rejected before it is decoded
+    private static long pixelCount(ImageReader reader) throws IOException {
+        try {
+            return (long) reader.getWidth(0) * reader.getHeight(0);
+        } catch (IOException | RuntimeException e) {
+            throw new IOException("Could not read image", e);
+        }
+    }
+
+    private static BufferedImage readImage(ImageReader reader) throws IOException {
+        try {
+            return reader.read(0);
+        } catch (IOException | RuntimeException e) {
+            throw new IOException("Could not read image", e);
+        }
+    }
+
+    // Reads the orientation tag from the Exif APP1 segment, which the JPEG reader reports as an unknown marker.
+    // Returns UPRIGHT when there is no Exif data or it cannot be parsed
+    private static int exifOrientation(ImageReader reader) {
+        try {
+            IIOMetadata metadata = reader.getImageMetadata(0);
+            Node markers = childNamed(metadata.getAsTree(JPEG_METADATA_FORMAT), "markerSequence");
+            if (markers == null)
+                return UPRIGHT;
+
+            for (Node marker = markers.getFirstChild(); marker != null; marker = marker.getNextSibling()) {
+                if (!"unknown".equals(marker.getNodeName()))
+                    continue;
+                Node tag = marker.getAttributes().getNamedItem("MarkerTag");
+                if (tag != null && Integer.parseInt(tag.getNodeValue()) == APP1_MARKER
+                        && ((IIOMetadataNode) marker).getUserObject() instanceof byte[] data)
+                    return exifOrientation(data);
+            }
+        } catch (IOException | RuntimeException e) {
+            // Unreadable metadata must not fail an otherwise valid image
+        }
+        return UPRIGHT;
+    }
+
+    // APP1 payload: "Exif\0\0", then a TIFF header giving the byte order and the offset of IFD0, whose
+    // 12-byte entries hold the orientation as a SHORT in the first two bytes of the value field
+    private static int exifOrientation(byte[] data) {
+        int tiff = 6;
+        if (data.length < tiff + 8 || data[0] != 'E' || data[1] != 'x' || data[2] != 'i' || data[3] != 'f')
+            return UPRIGHT;
+
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        if (data[tiff] == 'I' && data[tiff + 1] == 'I')
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+        else if (data[tiff] != 'M' || data[tiff + 1] != 'M')
+            return UPRIGHT;
+
+        long ifd = tiff + Integer.toUnsignedLong(buffer.getInt(tiff + 4));
+        if (ifd + 2 > data.length)
+            return UPRIGHT;
+
+        int entries = Short.toUnsignedInt(buffer.getShort((int) ifd));
+        for (int i = 0; i < entries; i++) {
+            int entry = (int) ifd + 2 + i * 12;
+            if (entry + 12 > data.length)
+                break;
+            if (Short.toUnsignedInt(buffer.getShort(entry)) == ORIENTATION_TAG) {
+                int orientation = Short.toUnsignedInt(buffer.getShort(entry + 8));
+                return orientation >= 1 && orientation <= 8 ? orientation : UPRIGHT;
+            }
+        }
+        return UPRIGHT;
+    }
+
+    private static Node childNamed(Node parent, String name) {
+        for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling())
+            if (name.equals(child.getNodeName()))
+                return child;
+        return null;
+    }
+
+    // Maps stored pixels to upright ones for EXIF orientations 2-8; 5-8 swap width and height
+    private static BufferedImage orient(BufferedImage image, int orientation) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, w);
+            default -> null;
+        };
+        if (transform == null)
+            return image;
+
+        boolean swap = orientation >= 5;
+        int type = image.getType() == BufferedImage.TYPE_CUSTOM ? BufferedImage.TYPE_INT_RGB : image.getType();
+        BufferedImage upright = new BufferedImage(swap ? h : w, swap ? w : h, type);
+        Graphics2D graphics = upright.createGraphics();
+        try {
+            graphics.drawImage(image, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return upright;
+    }
+
+    private static BufferedImage cropToSquare(BufferedImage image) {
+        int side = Math.min(image.getWidth(), image.getHeight());
+        return image.getSubimage((image.getWidth() - side) / 2, (image.getHeight() - side) / 2, side, side);
+    }
+
+    private static BufferedImage scale(BufferedImage square, int pixels, boolean keepAlpha) {
+        int type = keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        // Halve until within a factor of two of the target, then finish with one bicubic step
+        BufferedImage current = square;
+        int side = square.getWidth();
+        while (side / 2 >= pixels) {
+            side /= 2;
+            current = resize(current, side, type, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        }
+        return resize(current, pixels, type, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+    }
+
+    private static BufferedImage resize(BufferedImage source, int side, int type, Object interpolation) {
+        BufferedImage target = new BufferedImage(side, side, type);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, side, side, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] encode(BufferedImage image, ImageFormat format) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format.getExtension()).next();
+
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (format == ImageFormat.JPEG) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,63 @@
+package com.cpt202.dailyreadingtracker.utils;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fixed square sizes every uploaded avatar is re-encoded to.
+ * <p>
+ * Variant files share a base name, the SHA-256 of the image, and differ only in the size suffix, e.g.
+ * {@code <sha256>-128.png} stored under {@code ab/cd/} for a hash starting with {@code abcd}.
+ * Users store the name of the {@link #LARGE} variant; {@link #variantOf(String)} derives the others from it.
+ * </p>
+ */
+
+public enum AvatarSize {
+
+    // Profile pages at normal pixel density
+    MEDIUM(128),
+    // Profile pages on high-density screens
+    LARGE(256);
+
+    // Bounded so the all-digit last group of a legacy "<user>-avatar-<uuid>" name is not taken for a size
+    private static final Pattern VARIANT_NAME = Pattern.compile("^(.+)-(\\d{1,4})(\\.[a-z]+)$");
+
+    private final int pixels;
+
+    AvatarSize(int pixels) {
+        this.pixels = pixels;
+    }
+
+    public int getPixels() {
+        return pixels;
+    }
+
+    public String fileName(String baseName, String extension) {
+        return baseName + "-" + pixels + "." + extension;
+    }
+
+    /**
+     * Returns the name of this size's variant of a stored avatar. Avatars uploaded before variants existed
+     * have no size suffix and are returned unchanged.
+     *
+     * @param storedName the avatar file name saved on the user
+     * @return the variant file name, or {@code null} if {@code storedName} is {@code null}
+     */
+    public String variantOf(String storedName) {
+        if (storedName == null)
+            return null;
+
+        Matcher matcher = VARIANT_NAME.matcher(storedName);
+        if (!matcher.matches() || !isVariantSize(Integer.parseInt(matcher.group(2))))
+            return storedName;
+
+        return matcher.group(1) + "-" + pixels + matcher.group(3);
+    }
+
+    private static boolean isVariantSize(int pixels) {
+        for (AvatarSize size : values())
+            if (size.pixels == pixels)
+                return true;
+        return false;
+    }
+}
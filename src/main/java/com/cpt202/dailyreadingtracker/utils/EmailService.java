@@ -1,9 +1,12 @@
 package com.cpt202.dailyreadingtracker.utils;
 
 import java.io.UnsupportedEncodingException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,9 +15,12 @@ import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import com.cpt202.dailyreadingtracker.jfr.EmailSendEvent;
 import com.cpt202.dailyreadingtracker.readinglog.ReadingLog;
 import com.cpt202.dailyreadingtracker.user.User;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
@@ -32,6 +38,7 @@ import lombok.RequiredArgsConstructor;
  */
 
 @Service
+@Timed("app.service")
 @RequiredArgsConstructor
 public class EmailService {
 
@@ -41,8 +48,29 @@ public class EmailService {
     private String senderEmail;
 
     private final String senderName = "Daily Reading Tracker";
+
+    // Jakarta Mail's SMTP transport blocks inside synchronized methods, which pins a virtual thread to its
+    // carrier. With virtual threads, bounding concurrent sends keeps a burst of emails from pinning every
+    // carrier thread; platform threads do not pin, so there sends are not limited.
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${app.mail.max-concurrent-sends:4}")
+    private int maxConcurrentSends;
+
+    @Value("${app.mail.send-permit-timeout:10s}")
+    private Duration sendPermitTimeout;
+
+    private Semaphore sendPermits;
+
     private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
 
+    @PostConstruct
+    public void init() {
+        if (virtualThreads)
+            sendPermits = new Semaphore(maxConcurrentSends);
+    }
+
     /**
      * Sends an email verification message to the user.
      *
@@ -112,24 +140,51 @@ public class EmailService {
      * @param to          the recipient's email address
      * @param subject     the subject of the email
      * @param htmlContent the HTML content of the email
-     * @throws MessagingException           if there is an error creating the email
+     * @throws MessagingException           if there is an error creating the email, or no send permit became
+     *                                      free within {@code app.mail.send-permit-timeout}
      * @throws UnsupportedEncodingException if the sender's name cannot be encoded
      */
     public void sendHtmlEmail(String to, String subject, String htmlContent) throws MessagingException,
                                                                                     UnsupportedEncodingException{
+        EmailSendEvent event = new EmailSendEvent();
+        event.begin();
+
         MimeMessage message = mailSender.createMimeMessage();
         MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
         
+        long waitStart = System.nanoTime();
+        acquireSendPermit();
+        event.setPermitWait(System.nanoTime() - waitStart);
         try {
             helper.setFrom(new InternetAddress(senderEmail, senderName));
             helper.setTo(to);
             helper.setSubject(subject);
             helper.setText(htmlContent, true);
             mailSender.send(message);
+            event.setSucceeded(true);
         } catch (UnsupportedEncodingException e) {
             helper.setFrom(senderEmail);
             mailSender.send(message);
+            event.setSucceeded(true);
             logger.warn("Used simple from address due to encoding issues");
+        } finally {
+            if (sendPermits != null)
+                sendPermits.release();
+            event.setSubject(subject);
+            event.commit();
+        }
+    }
+
+    private void acquireSendPermit() throws MessagingException {
+        if (sendPermits == null)
+            return;
+
+        try {
+            if (!sendPermits.tryAcquire(sendPermitTimeout.toMillis(), TimeUnit.MILLISECONDS))
+                throw new MessagingException("Timed out waiting to send email");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting to send email", e);
         }
     }
 
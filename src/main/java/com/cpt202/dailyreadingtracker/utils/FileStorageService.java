@@ -1,43 +1,110 @@
 package com.cpt202.dailyreadingtracker.utils;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.cpt202.dailyreadingtracker.jfr.AvatarStoreEvent;
+import com.cpt202.dailyreadingtracker.user.UserRepository;
+import com.cpt202.dailyreadingtracker.utils.AvatarImageProcessor.ImageFormat;
+import com.cpt202.dailyreadingtracker.utils.UploadInputStream.UploadRejectedException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 import jakarta.annotation.PostConstruct;
 
 /**
  * Service responsible for handling file storage operations, including:
  * <ul>
- *     <li>Storing user avatar files</li>
- *     <li>Validating file types and sizes</li>
- *     <li>Loading stored avatar files</li>
- *     <li>Deleting avatar files</li>
+ *     <li>Storing user avatar files as re-encoded {@link AvatarSize} variants</li>
+ *     <li>Validating file signatures and sizes</li>
+ *     <li>Looking up stored avatar files for serving, keeping the small ones in memory</li>
+ *     <li>Deleting avatar files that no user refers to any more</li>
+ *     <li>Collecting orphaned files left behind by failed registrations or deletions</li>
  * </ul>
+ * Avatar files are named after the SHA-256 of their variants, so identical images are stored once and a
+ * file name never changes content. That is what lets {@code /uploads/**} be cached as immutable.
+ * <p>
+ * Files are spread over a two-level directory fan-out, e.g. {@code 3f/a1/3fa1...-256.png}, so no single
+ * directory grows past a few thousand entries. Users and URLs only ever carry the bare file name;
+ * {@link #resolveAvatarPath(String)} maps it to its place on disk.
+ * </p>
+ * <p>
+ * Because users share files, reusing an image and deleting it must not interleave. Both run under a lock
+ * striped by the image's name, and a file reused within {@code app.uploads.gc.grace-period} is never deleted
+ * here: its new owner may not be saved yet, so it is left for {@link #collectOrphans(Instant, int)}.
+ * </p>
  */
 
 @Service
 public class FileStorageService {
 
     private final Path storageBasePath;
+    private final UserRepository userRepository;
+    private final Duration reuseGracePeriod;
+    private final AvatarImageProcessor imageProcessor = new AvatarImageProcessor();
+
+    // ReentrantLock rather than synchronized, so a virtual thread waiting on a file does not pin its carrier
+    private static final int LOCK_STRIPES = 64;
+    private final Lock[] imageLocks = new Lock[LOCK_STRIPES];
 
-    private static final Set<String> ALLOWED_IMAGE_TYPES = Set.of("image/jpeg", "image/png");
     private static final long MAX_FILE_SIZE = 5 * 1024 * 1024;
 
+    // Thumbnails are requested on nearly every page, so files up to this size are served from memory
+    private static final int HOT_AVATAR_MAX_BYTES = 32 * 1024;
+    private static final long HOT_AVATAR_CACHE_BYTES = 8 * 1024 * 1024;
+
+    private final Cache<String, StoredAvatar> hotAvatars = Caffeine.newBuilder()
+        .maximumWeight(HOT_AVATAR_CACHE_BYTES)
+        .weigher((String filename, StoredAvatar avatar) -> avatar.content().length)
+        .build();
+
+    // Stored names are single path segments; anything else is rejected before it reaches the file system
+    private static final Pattern STORED_NAME = Pattern.compile("[A-Za-z0-9_-][A-Za-z0-9._-]*");
+    private static final Pattern SHARD_PREFIX = Pattern.compile("[0-9a-f]{4}");
+
+    private static final String TEMP_FILE_PREFIX = ".upload-";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
     private static final Logger logger = LoggerFactory.getLogger(FileStorageService.class);
 
-    public FileStorageService(@Value("${app.uploads.dir}") String uploadDirectory){
+    public FileStorageService(@Value("${app.uploads.dir}") String uploadDirectory, UserRepository userRepository,
+                              @Value("${app.uploads.gc.grace-period:24h}") Duration reuseGracePeriod){
         this.storageBasePath = Paths.get(uploadDirectory).toAbsolutePath().normalize();
+        this.userRepository = userRepository;
+        this.reuseGracePeriod = reuseGracePeriod;
+        for (int i = 0; i < LOCK_STRIPES; i++)
+            imageLocks[i] = new ReentrantLock();
     }
 
     /**
@@ -54,108 +121,262 @@ public class FileStorageService {
         }
     }
 
+    // Spring has already capped the part at spring.servlet.multipart.max-file-size while parsing the request
+    private static void checkDeclaredSize(MultipartFile file) throws UploadRejectedException {
+        if (file.getSize() > MAX_FILE_SIZE)
+            throw new UploadRejectedException("File size exceeds 5 MB");
+    }
+
     /**
-     * Validates the uploaded file for type and size constraints.
+     * Stores an avatar that Spring has already parsed out of the request.
      *
-     * @param file the file to validate
-     * @throws IOException if the file is invalid
+     * @param file     the avatar file to store
+     * @param username the username of the user
+     * @return the filename of the {@link AvatarSize#LARGE} variant, or {@code null} if no file was sent
+     * @throws UploadRejectedException if the file is too large or not a supported image
+     * @throws IOException if the file cannot be decoded or stored
+     * @see #storeAvatar(InputStream, String)
      */
-    public void validateFile(MultipartFile file) throws IOException {
-        String contentType = file.getContentType();
-        String originalFilename = file.getOriginalFilename();
-
-        if (contentType != null && contentType.equalsIgnoreCase("image/jpg"))
-            throw new IOException("JPG format not supported. Please use JPEG or PNG");
-
-        if (!ALLOWED_IMAGE_TYPES.contains(contentType))
-            throw new IOException("Invalid file type. Only JPEG/PNG images are allowed");
+    public String storeAvatar(MultipartFile file, String username) throws IOException {
+        if (file == null || file.isEmpty())
+            return null;
 
-        if (originalFilename != null && originalFilename.toLowerCase().endsWith(".jpg"))
-            throw new IOException("Files with .jpg extension are not accepted. Please use .jpeg or .png");
+        checkDeclaredSize(file);
 
-        if (file.getSize() > MAX_FILE_SIZE)
-            throw new IOException("File size exceeds 5 MB");
+        try (InputStream upload = file.getInputStream()) {
+            return storeAvatar(upload, username);
+        }
     }
 
     /**
-     * Stores the user's avatar file in the upload directory.
+     * Stores the user's avatar in the upload directory, re-encoded into every {@link AvatarSize}.
+     * <p>
+     * The upload is read once, through an {@link UploadInputStream}: its signature is checked before the
+     * decoder sees any of it, and reading stops as soon as it runs past {@value #MAX_FILE_SIZE} bytes.
+     * If the same image has been stored before, its existing files are reused and only their modification
+     * time is refreshed, so a pending clean-up does not treat them as abandoned.
+     * </p>
      *
-     * @param file     the avatar file to store
+     * @param upload   the avatar's bytes, possibly still arriving from the client; not closed
      * @param username the username of the user
-     * @return the filename of the stored avatar
-     * @throws IOException if the file cannot be stored
+     * @return the filename of the {@link AvatarSize#LARGE} variant, or {@code null} if the upload is empty
+     * @throws UploadRejectedException if the upload is too large or not a supported image
+     * @throws IOException if the upload cannot be read, decoded or stored
      */
-    public String storeAvatar(MultipartFile file, String username) throws IOException {
-        if (file == null || file.isEmpty())
+    public String storeAvatar(InputStream upload, String username) throws IOException {
+        UploadInputStream input = new UploadInputStream(upload, MAX_FILE_SIZE);
+        byte[] signature = input.peek(ImageFormat.SIGNATURE_LENGTH);
+        if (signature.length == 0)
             return null;
 
-        validateFile(file);
+        AvatarStoreEvent event = new AvatarStoreEvent();
+        event.begin();
 
-        String filename = generateUniqueFilename(file, username);
-        Path destinationPath = storageBasePath.resolve(filename);
+        List<Path> written = new ArrayList<>();
 
         try {
-            file.transferTo(destinationPath);
-            logger.info("Stored avatar for {} at: {}", username, destinationPath);
+            ImageFormat format = ImageFormat.detect(signature);
+            event.setContentType(format.getContentType());
+
+            Map<AvatarSize, byte[]> variants = imageProcessor.process(input, format);
+            String baseName = contentHash(variants);
+            String filename = AvatarSize.LARGE.fileName(baseName, format.getExtension());
+
+            Lock lock = imageLock(filename);
+            lock.lock();
+            try {
+                for (Map.Entry<AvatarSize, byte[]> variant : variants.entrySet()) {
+                    Path destinationPath = resolveAvatarPath(variant.getKey().fileName(baseName, format.getExtension()));
+
+                    if (Files.exists(destinationPath)) {
+                        Files.setLastModifiedTime(destinationPath, FileTime.from(Instant.now()));
+                    } else {
+                        writeAtomically(destinationPath, variant.getValue());
+                        written.add(destinationPath);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            event.setSucceeded(true);
+            logger.info("Stored avatar for {} as: {} ({} new files)", username, baseName, written.size());
             return filename;
+        } catch (UploadRejectedException e) {
+            logger.info("Rejected avatar upload for {}: {}", username, e.getMessage());
+            throw e;
         } catch (IOException e){
             logger.error("Failed to store avatar for {}", username, e);
-            throw new IOException("Failed to store avatar file", e);
+            for (Path path : written)
+                Files.deleteIfExists(path);
+            throw new IOException("Failed to store avatar file: " + e.getMessage(), e);
+        } finally {
+            event.setSize(input.getBytesRead());
+            event.commit();
         }
     }
 
-    /**
-     * Generates a unique filename for the uploaded file.
-     *
-     * @param file     the uploaded file
-     * @param username the username of the user
-     * @return the generated unique filename
-     */
-    public String generateUniqueFilename(MultipartFile file, String username){
-        String extension = file.getContentType().split("/")[1];
-        return String.format("%s-avatar-%s.%s", formatFilename(username), UUID.randomUUID(), extension);
+    // All variants of an image map to the same stripe, through the name users store
+    private Lock imageLock(String filename) {
+        return imageLocks[Math.floorMod(AvatarSize.LARGE.variantOf(filename).hashCode(), LOCK_STRIPES)];
+    }
+
+    // Name shared by all variants of one image
+    private static String contentHash(Map<AvatarSize, byte[]> variants) {
+        return sha256(variants.values().toArray(byte[][]::new));
+    }
+
+    private static String sha256(byte[]... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (byte[] part : parts)
+                digest.update(part);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Readers and concurrent uploads of the same image only ever see a complete file
+    private void writeAtomically(Path destinationPath, byte[] content) throws IOException {
+        Files.createDirectories(destinationPath.getParent());
+        Path tempFile = Files.createTempFile(destinationPath.getParent(), TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+        try {
+            Files.write(tempFile, content);
+            Files.move(tempFile, destinationPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
     }
 
     /**
-     * Formats a filename by replacing invalid characters with underscores.
+     * Maps a stored avatar file name to its location in the sharded upload directory.
+     * <p>
+     * Content-addressed names are sharded by their own first four characters, so all variants of an image
+     * share a directory. Older names that do not start with a hash are sharded by the hash of the name.
+     * </p>
      *
-     * @param filename the original filename
-     * @return the formatted filename
+     * @param filename the stored file name
+     * @return the path of the file under the upload directory
+     * @throws InvalidAvatarNameException if the name is not a plain file name
      */
-    public String formatFilename(String filename){
-        return filename.replaceAll("[^a-zA-Z0-9.-]", "_");
+    public Path resolveAvatarPath(String filename) throws IOException {
+        String shard = SHARD_PREFIX.matcher(filename).lookingAt()
+            ? filename.substring(0, 4)
+            : sha256(filename.getBytes(StandardCharsets.UTF_8)).substring(0, 4);
+
+        return checkedPath(storageBasePath.resolve(shard.substring(0, 2)).resolve(shard.substring(2, 4)), filename);
+    }
+
+    // Where files lived before the sharded layout, until migrateFlatUploads has moved them
+    private Path legacyAvatarPath(String filename) throws IOException {
+        return checkedPath(storageBasePath, filename);
+    }
+
+    private Path checkedPath(Path directory, String filename) throws IOException {
+        if (!STORED_NAME.matcher(filename).matches() || filename.contains(".."))
+            throw new InvalidAvatarNameException("Attempted path traversal attack");
+
+        Path filePath = directory.resolve(filename).normalize();
+        if (!filePath.startsWith(storageBasePath))
+            throw new InvalidAvatarNameException("Attempted path traversal attack");
+
+        return filePath;
     }
 
     /**
-     * Loads the user's avatar file as a URL resource.
+     * Looks up a stored avatar for serving.
+     * <p>
+     * A cache miss costs one {@code stat} of the file; nothing is opened. Files of at most
+     * {@value #HOT_AVATAR_MAX_BYTES} bytes are read once and then served from a size-bounded in-memory cache,
+     * which is safe because a stored name never changes content.
+     * </p>
      *
      * @param filename the filename of the avatar
-     * @return the URL resource for the avatar
-     * @throws IOException if the file cannot be loaded
+     * @return the avatar, or {@code null} if there is no such file
+     * @throws InvalidAvatarNameException if the name is not a plain file name
+     * @throws IOException if the file cannot be read
      */
-    public UrlResource loadAvatar(String filename) throws IOException{
+    public StoredAvatar openAvatar(String filename) throws IOException {
         if (filename == null || filename.isBlank()){
             logger.debug("Requested empty filename for avatar");
             return null;
         }
 
-        Path filePath = storageBasePath.resolve(filename).normalize();
+        StoredAvatar cached = hotAvatars.getIfPresent(filename);
+        if (cached != null)
+            return cached;
 
-        if (!filePath.startsWith(storageBasePath))
-            throw new IOException("Attempted path traversal attack");
-        
-        UrlResource resource = new UrlResource(filePath.toUri());
+        Path filePath = resolveAvatarPath(filename);
+        BasicFileAttributes attributes = attributesOf(filePath);
+
+        if (attributes == null) {
+            filePath = legacyAvatarPath(filename);
+            attributes = attributesOf(filePath);
+        }
 
-        if (!resource.exists() || !resource.isReadable()){
+        if (attributes == null || !attributes.isRegularFile()){
             logger.warn("Avatar file not found or not readable: {}", filename);
             return null;
         }
 
-        return resource;
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        if (attributes.size() > HOT_AVATAR_MAX_BYTES)
+            return new StoredAvatar(filePath, attributes.size(), lastModified, null);
+
+        byte[] content = Files.readAllBytes(filePath);
+        StoredAvatar avatar = new StoredAvatar(filePath, content.length, lastModified, content);
+        hotAvatars.put(filename, avatar);
+        return avatar;
+    }
+
+    private static BasicFileAttributes attributesOf(Path path) throws IOException {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
     }
 
     /**
-     * Deletes the user's avatar file from the storage directory.
+     * Moves files left in the flat top level of the upload directory into the sharded layout.
+     * Entries are streamed, so the directory can be arbitrarily large; files with names that are not
+     * valid stored names are left where they are.
+     *
+     * @return the number of files moved
+     * @throws IOException if the upload directory cannot be listed
+     */
+    public int migrateFlatUploads() throws IOException {
+        int moved = 0;
+
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(storageBasePath, Files::isRegularFile)) {
+            for (Path source : entries) {
+                String filename = source.getFileName().toString();
+                if (!STORED_NAME.matcher(filename).matches()) {
+                    logger.warn("Skipping upload with unexpected name: {}", filename);
+                    continue;
+                }
+
+                Path target = resolveAvatarPath(filename);
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // Same name means same content for hashed names, and a stale copy for the rest
+                    Files.delete(source);
+                }
+                moved++;
+            }
+        }
+
+        logger.info("Moved {} uploads into the sharded layout under {}", moved, storageBasePath);
+        return moved;
+    }
+
+    /**
+     * Deletes an avatar and all of its size variants from the storage directory, unless a user still
+     * refers to it or it was stored again within the grace period. Call this after the user that held the
+     * avatar has been saved with its replacement.
      *
      * @param filename the filename of the avatar to delete
      * @throws IOException if the file cannot be deleted
@@ -163,18 +384,203 @@ public class FileStorageService {
     public void deleteAvatar(String filename) throws IOException{
         if (filename == null || filename.isBlank())
             return;
-        
-        Path filePath = storageBasePath.resolve(filename).normalize();
-
-        if (!filePath.startsWith(storageBasePath))
-            throw new IOException("Attempted path traversal attack");
 
+        Lock lock = imageLock(filename);
+        lock.lock();
         try {
-            Files.deleteIfExists(filePath);
-            logger.info("Deleted avatar file: {}", filename);
-        } catch (IOException e) {
-            logger.error("Failed to delete avatar file: {}", filename, e);
-            throw new IOException("Failed to delete avatar file", e);
+            if (userRepository.existsByAvatarFileName(filename)) {
+                logger.debug("Avatar {} is still in use, keeping it", filename);
+                return;
+            }
+
+            // Another upload of the same image may be about to save it on its user
+            if (modifiedSince(filename, Instant.now().minus(reuseGracePeriod))) {
+                logger.debug("Avatar {} was stored recently, leaving it to the orphan sweep", filename);
+                return;
+            }
+
+            deleteVariants(filename);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean modifiedSince(String filename, Instant since) throws IOException {
+        BasicFileAttributes attributes = attributesOf(resolveAvatarPath(filename));
+        if (attributes == null)
+            attributes = attributesOf(legacyAvatarPath(filename));
+
+        return attributes != null && !attributes.lastModifiedTime().toInstant().isBefore(since);
+    }
+
+    private void deleteVariants(String filename) throws IOException {
+        List<String> filenames = new ArrayList<>();
+        filenames.add(filename);
+        for (AvatarSize size : AvatarSize.values())
+            if (!filenames.contains(size.variantOf(filename)))
+                filenames.add(size.variantOf(filename));
+
+        for (String name : filenames) {
+            hotAvatars.invalidate(name);
+
+            Path filePath = resolveAvatarPath(name);
+            Path legacyPath = legacyAvatarPath(name);
+
+            try {
+                Files.deleteIfExists(filePath);
+                Files.deleteIfExists(legacyPath);
+            } catch (IOException e) {
+                logger.error("Failed to delete avatar file: {}", name, e);
+                throw new IOException("Failed to delete avatar file", e);
+            }
+        }
+
+        logger.info("Deleted avatar files: {}", filenames);
+    }
+
+    /**
+     * Deletes files in the upload directory that no user refers to and that have not been written or reused
+     * since {@code cutoff}.
+     * <p>
+     * The directory tree is walked lazily and candidates are checked against {@code users.avatar_file_name}
+     * {@code batchSize} at a time, so memory stays bounded however many files or users there are. A variant
+     * counts as referenced when its {@link AvatarSize#LARGE} name is. Interrupted writes ({@code .upload-*.tmp})
+     * older than the cutoff are removed too; files with unexpected names are left alone.
+     * </p>
+     *
+     * @param cutoff    only files last modified before this are considered
+     * @param batchSize how many candidates to check against the database at once
+     * @return what was deleted
+     * @throws IOException if the upload directory cannot be walked
+     */
+    public OrphanSweep collectOrphans(Instant cutoff, int batchSize) throws IOException {
+        OrphanCollector collector = new OrphanCollector(cutoff, batchSize);
+        Files.walkFileTree(storageBasePath, collector);
+        collector.flush();
+
+        return new OrphanSweep(collector.scanned, collector.deleted, collector.reclaimedBytes);
+    }
+
+    private class OrphanCollector extends SimpleFileVisitor<Path> {
+
+        private record Candidate(Path path, String filename, long size) {
+        }
+
+        private final Instant cutoff;
+        private final int batchSize;
+        private final List<Candidate> batch;
+        private int scanned;
+        private int deleted;
+        private long reclaimedBytes;
+
+        OrphanCollector(Instant cutoff, int batchSize) {
+            this.cutoff = cutoff;
+            this.batchSize = batchSize;
+            this.batch = new ArrayList<>(batchSize);
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+            if (!attributes.isRegularFile())
+                return FileVisitResult.CONTINUE;
+
+            scanned++;
+            if (!attributes.lastModifiedTime().toInstant().isBefore(cutoff))
+                return FileVisitResult.CONTINUE;
+
+            String filename = file.getFileName().toString();
+            if (filename.startsWith(TEMP_FILE_PREFIX) && filename.endsWith(TEMP_FILE_SUFFIX)) {
+                delete(new Candidate(file, filename, attributes.size()));
+            } else if (STORED_NAME.matcher(filename).matches()) {
+                batch.add(new Candidate(file, filename, attributes.size()));
+                if (batch.size() >= batchSize)
+                    flush();
+            }
+
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(Path file, IOException e) {
+            logger.warn("Could not inspect upload {}", file, e);
+            return FileVisitResult.CONTINUE;
+        }
+
+        void flush() throws IOException {
+            if (batch.isEmpty())
+                return;
+
+            Set<String> names = new HashSet<>();
+            for (Candidate candidate : batch) {
+                names.add(candidate.filename());
+                names.add(AvatarSize.LARGE.variantOf(candidate.filename()));
+            }
+            Set<String> referenced = new HashSet<>(userRepository.findAvatarFileNamesIn(names));
+
+            for (Candidate candidate : batch) {
+                if (referenced.contains(candidate.filename())
+                        || referenced.contains(AvatarSize.LARGE.variantOf(candidate.filename())))
+                    continue;
+
+                // Storing the same image again refreshes the file's time before its user is saved; holding the
+                // image's lock keeps that from happening between this check and the delete
+                Lock lock = imageLock(candidate.filename());
+                lock.lock();
+                try {
+                    if (Files.getLastModifiedTime(candidate.path()).toInstant().isBefore(cutoff))
+                        delete(candidate);
+                } catch (NoSuchFileException e) {
+                    // Already deleted by deleteAvatar
+                } finally {
+                    lock.unlock();
+                }
+            }
+
+            batch.clear();
+        }
+
+        private void delete(Candidate candidate) {
+            try {
+                if (Files.deleteIfExists(candidate.path())) {
+                    hotAvatars.invalidate(candidate.filename());
+                    deleted++;
+                    reclaimedBytes += candidate.size();
+                }
+            } catch (IOException e) {
+                logger.warn("Could not delete orphaned upload {}", candidate.path(), e);
+            }
+        }
+    }
+
+    /**
+     * Outcome of {@link #collectOrphans(Instant, int)}.
+     *
+     * @param scanned        the number of files looked at
+     * @param deleted        the number of files deleted
+     * @param reclaimedBytes the total size of the deleted files
+     */
+    public record OrphanSweep(int scanned, int deleted, long reclaimedBytes) {
+    }
+
+    /**
+     * A stored avatar file as found by {@link #openAvatar(String)}.
+     *
+     * @param path         where the file is on disk
+     * @param size         the file size in bytes
+     * @param lastModified the modification time in epoch milliseconds
+     * @param content      the whole file if it is small enough to be kept in memory, otherwise {@code null}
+     */
+    public record StoredAvatar(Path path, long size, long lastModified, byte[] content) {
+    }
+
+    /**
+     * Thrown when a requested name could not have been stored by this service, such as one that would
+     * resolve outside the upload directory.
+     */
+    public static class InvalidAvatarNameException extends IOException {
+
+        public InvalidAvatarNameException(String message) {
+            super(message);
         }
     }
 }
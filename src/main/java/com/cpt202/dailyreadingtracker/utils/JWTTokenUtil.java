@@ -1,64 +1,137 @@
 package com.cpt202.dailyreadingtracker.utils;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Map;
 
 import javax.crypto.SecretKey;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 
-// Utility class for JSON Web Token generation, validation, and processing operations
+// Utility class for JSON Web Token generation, validation, and processing operations.
+// Verified claims are cached by token digest until the token expires, so a token checked
+// several times in a request is only verified once.
 
 @Component
 public class JWTTokenUtil {
-    
+
     @Value("${jwt.secret}")
     private String secretString;
 
     @Value("${jwt.expirationMs}")
     private long expirationMs;
 
+    @Value("${jwt.cache.max-size:10000}")
+    private long cacheMaxSize = 10000;
+
     private SecretKey secretKey;
 
+    private JwtParser parser;
+
+    private Cache<String, Claims> verifiedClaims;
+
     @PostConstruct
     public void init(){
         this.secretKey = Keys.hmacShaKeyFor(secretString.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                          .verifyWith(secretKey)
+                          .build();
+        this.verifiedClaims = Caffeine.newBuilder()
+                                      .maximumSize(cacheMaxSize)
+                                      .expireAfter(Expiry.creating((String digest, Claims claims) -> remainingLifetime(claims)))
+                                      .build();
     }
 
     public String generateToken(String subject){
+        return generateToken(subject, Map.of(), Duration.ofMillis(expirationMs));
+    }
+
+    /**
+     * Generates a signed token carrying extra claims, with its own lifetime.
+     *
+     * @param subject the token subject
+     * @param claims  additional claims, e.g. {@code jti} or a token type
+     * @param ttl     how long the token stays valid
+     * @return the compact JWT
+     */
+    public String generateToken(String subject, Map<String, ?> claims, Duration ttl){
+        long now = System.currentTimeMillis();
+
         return Jwts.builder()
+                   .claims(claims)
                    .subject(subject)
-                   .issuedAt(new Date())
-                   .expiration(new Date(System.currentTimeMillis() + expirationMs))
+                   .issuedAt(new Date(now))
+                   .expiration(new Date(now + ttl.toMillis()))
                    .signWith(secretKey, Jwts.SIG.HS256)
                    .compact();
     }
 
+    /**
+     * Verifies the token's signature and expiry and returns its claims.
+     *
+     * @param token the compact JWT
+     * @return the verified claims
+     * @throws JwtException             if the token is malformed, tampered with or expired
+     * @throws IllegalArgumentException if the token is null or empty
+     */
+    public Claims parse(String token){
+        if (token == null || token.isEmpty())
+            throw new IllegalArgumentException("Token cannot be empty");
+
+        String digest = digest(token);
+        Claims cached = verifiedClaims.getIfPresent(digest);
+        if (cached != null)
+            return cached;
+
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        if (claims.getExpiration() != null)
+            verifiedClaims.put(digest, claims);
+
+        return claims;
+    }
+
     public boolean validateToken(String token){
         try{
-            Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token);
-
+            parse(token);
             return true;
-        } catch (Exception e) {
+        } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
 
     public String getSubject(String token){
-        return Jwts.parser()
-                   .verifyWith(secretKey)
-                   .build()
-                   .parseSignedClaims(token)
-                   .getPayload()
-                   .getSubject();
+        return parse(token).getSubject();
+    }
+
+    // Keys are digests so the cache does not hold usable bearer tokens
+    private static String digest(String token){
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Duration remainingLifetime(Claims claims){
+        long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+        return Duration.ofMillis(Math.max(remainingMs, 0));
     }
 
 }
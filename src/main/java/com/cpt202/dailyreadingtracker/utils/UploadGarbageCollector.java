@@ -0,0 +1,75 @@
+package com.cpt202.dailyreadingtracker.utils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.cpt202.dailyreadingtracker.utils.FileStorageService.OrphanSweep;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+
+/**
+ * Periodically removes uploads that no user refers to.
+ * <p>
+ * Orphans appear when a registration stores an avatar but the user is never kept, or when replacing an
+ * avatar fails to delete the old file. A file is only removed once it is older than
+ * {@code app.uploads.gc.grace-period}, which leaves in-flight registrations and uploads time to save their
+ * user. See {@link FileStorageService#collectOrphans(Instant, int)} for how files are reconciled.
+ * </p>
+ * <p>
+ * Metrics: {@code app.uploads.orphans.deleted} counts removed files and {@code app.uploads.orphans.reclaimed}
+ * the bytes they took up.
+ * </p>
+ */
+
+@Component
+@ConditionalOnProperty(name = "app.uploads.gc.enabled", havingValue = "true", matchIfMissing = true)
+public class UploadGarbageCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadGarbageCollector.class);
+
+    private final FileStorageService fileStorageService;
+    private final Duration gracePeriod;
+    private final int batchSize;
+    private final Counter deletedFiles;
+    private final Counter reclaimedBytes;
+
+    public UploadGarbageCollector(FileStorageService fileStorageService, MeterRegistry meterRegistry,
+                                  @Value("${app.uploads.gc.grace-period:24h}") Duration gracePeriod,
+                                  @Value("${app.uploads.gc.batch-size:500}") int batchSize) {
+        this.fileStorageService = fileStorageService;
+        this.gracePeriod = gracePeriod;
+        this.batchSize = batchSize;
+        this.deletedFiles = Counter.builder("app.uploads.orphans.deleted")
+            .description("Upload files removed because no user referred to them")
+            .register(meterRegistry);
+        this.reclaimedBytes = Counter.builder("app.uploads.orphans.reclaimed")
+            .description("Disk space freed by removing orphaned uploads")
+            .baseUnit(BaseUnits.BYTES)
+            .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${app.uploads.gc.initial-delay:PT10M}",
+               fixedDelayString = "${app.uploads.gc.interval:PT6H}")
+    public void sweep() {
+        try {
+            OrphanSweep sweep = fileStorageService.collectOrphans(Instant.now().minus(gracePeriod), batchSize);
+
+            deletedFiles.increment(sweep.deleted());
+            reclaimedBytes.increment(sweep.reclaimedBytes());
+            logger.info("Upload sweep removed {} of {} files, reclaiming {} bytes",
+                sweep.deleted(), sweep.scanned(), sweep.reclaimedBytes());
+        } catch (IOException e) {
+            logger.error("Upload sweep failed", e);
+        }
+    }
+}
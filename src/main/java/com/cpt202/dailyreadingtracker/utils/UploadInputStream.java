@@ -0,0 +1,110 @@
+package com.cpt202.dailyreadingtracker.utils;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Single-pass input pipeline for uploaded files.
+ * <p>
+ * The leading bytes can be inspected with {@link #peek(int)} without consuming them, so the format can be
+ * checked before anything else reads the upload. Every byte handed on is counted, and reading fails with
+ * {@link UploadRejectedException} as soon as more than {@code maxBytes} have gone through, whatever size the
+ * upload claimed to be.
+ * </p>
+ */
+
+public class UploadInputStream extends FilterInputStream {
+
+    private final long maxBytes;
+    private long bytesRead;
+
+    public UploadInputStream(InputStream in, long maxBytes) {
+        super(new BufferedInputStream(in));
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns up to {@code length} leading bytes of the upload without consuming them.
+     * Only valid before the first read.
+     *
+     * @param length the number of bytes wanted
+     * @return the bytes, fewer than {@code length} only if the upload is shorter
+     * @throws IOException if the upload cannot be read
+     */
+    public byte[] peek(int length) throws IOException {
+        if (bytesRead > 0)
+            throw new IllegalStateException("Upload has already been read from");
+
+        in.mark(length);
+        try {
+            return in.readNBytes(length);
+        } finally {
+            in.reset();
+        }
+    }
+
+    /**
+     * Returns the number of bytes handed on so far.
+     *
+     * @return the bytes read or skipped, not counting peeked ones
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int value = in.read();
+        if (value != -1)
+            count(1);
+        return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = in.read(buffer, offset, length);
+        if (read > 0)
+            count(read);
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = in.skip(n);
+        count(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readLimit) {
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    private void count(long bytes) throws UploadRejectedException {
+        bytesRead += bytes;
+        if (bytesRead > maxBytes)
+            throw new UploadRejectedException("File size exceeds " + maxBytes / (1024 * 1024) + " MB");
+    }
+
+    /**
+     * Thrown when an upload is refused because of what the client sent, such as its size or format,
+     * as opposed to a failure on the server while storing it.
+     */
+    public static class UploadRejectedException extends IOException {
+
+        public UploadRejectedException(String message) {
+            super(message);
+        }
+    }
+}
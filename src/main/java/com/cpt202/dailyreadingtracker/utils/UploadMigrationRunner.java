@@ -0,0 +1,30 @@
+package com.cpt202.dailyreadingtracker.utils;
+
+import java.io.IOException;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Moves avatars from the old flat upload directory into the sharded layout when the {@code migrate-uploads}
+ * profile is active, e.g. {@code mvn spring-boot:run -Dspring-boot.run.profiles=migrate-uploads}.
+ * The profile starts no web server, so the process ends once the move is done. Avatars that have not been
+ * moved yet are still served from the flat location, so the migration can run next to a serving instance.
+ */
+
+@Component
+@Profile("migrate-uploads")
+@RequiredArgsConstructor
+public class UploadMigrationRunner implements ApplicationRunner {
+
+    private final FileStorageService fileStorageService;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        fileStorageService.migrateFlatUploads();
+    }
+}
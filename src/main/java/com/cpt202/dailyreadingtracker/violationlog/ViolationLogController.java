@@ -19,6 +19,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.cpt202.dailyreadingtracker.jfr.AdminFilterScanEvent;
 import com.cpt202.dailyreadingtracker.user.User;
 import com.cpt202.dailyreadingtracker.user.UserRepository;
 
@@ -128,7 +129,11 @@ public class ViolationLogController {
         @RequestParam(required = false) Integer maxTime,
         @RequestParam(required = false) String sort) {
 
-        List<ViolationLog> logs = viorepo.findAll();
+        AdminFilterScanEvent event = new AdminFilterScanEvent();
+        event.begin();
+
+        List<ViolationLog> allLogs = viorepo.findAll();
+        List<ViolationLog> logs = allLogs;
         
         if (query != null && !query.isEmpty()) {
             String searchTerm = query.toLowerCase();
@@ -155,6 +160,13 @@ public class ViolationLogController {
                     (maxTime == null || log.getTimeSpent() <= maxTime))
                 .collect(Collectors.toList());
         }
+
+        if (event.shouldCommit()) {
+            event.setTable("violation_log");
+            event.setRowsScanned(allLogs.size());
+            event.setRowsReturned(logs.size());
+            event.commit();
+        }
         
         return ResponseEntity.ok(logs);
     }
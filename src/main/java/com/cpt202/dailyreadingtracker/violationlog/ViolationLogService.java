@@ -8,11 +8,13 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.cpt202.dailyreadingtracker.admin.AdminEventService;
 import com.cpt202.dailyreadingtracker.readinglog.ReadingLog;
 import com.cpt202.dailyreadingtracker.readinglog.ReadingLogRepository;
 import com.cpt202.dailyreadingtracker.user.User;
 import com.cpt202.dailyreadingtracker.user.UserRepository;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -27,13 +29,15 @@ import lombok.RequiredArgsConstructor;
  * </ul>
  */
 
-@Service 
+@Service
+@Timed("app.service")
 @RequiredArgsConstructor
 public class ViolationLogService {
 
     private final ReadingLogRepository readingLogRepository;
     private final ViolationLogRepository violationLogRepository;
     private final UserRepository userRepository;
+    private final AdminEventService adminEventService;
 
     /**
      * Creates a new violation log for a user.
@@ -100,8 +104,9 @@ public class ViolationLogService {
 
         flaggedUser.removeTimesFlagged();
 
-        readingLogRepository.save(newLog);
+        ReadingLog restoredLog = readingLogRepository.save(newLog);
         violationLogRepository.delete(violog);
+        adminEventService.publishLogRestored(logId, restoredLog);
     }
 
     /**
@@ -28,6 +28,7 @@ document.addEventListener('DOMContentLoaded', () => {
     function init() {
         fetchLogs();
         setupEventListeners();
+        subscribeToEvents();
     }
 
     function setupFilterToggle() {
@@ -134,6 +135,32 @@ document.addEventListener('DOMContentLoaded', () => {
         }
     }
 
+    function subscribeToEvents() {
+        if (!window.EventSource) return;
+
+        const source = new EventSource('/admin/events');
+
+        const upsertLog = (event) => {
+            const { data } = JSON.parse(event.data);
+            logs = logs.filter(log => log.id !== data.log.id);
+            logs.push(data.log);
+            renderLogs();
+        };
+
+        const removeLog = (event) => {
+            const { data } = JSON.parse(event.data);
+            logs = logs.filter(log => log.id !== data.logId);
+            renderLogs();
+        };
+
+        source.addEventListener('log-created', upsertLog);
+        source.addEventListener('log-updated', upsertLog);
+        source.addEventListener('log-restored', upsertLog);
+        source.addEventListener('log-deleted', removeLog);
+        source.addEventListener('log-flagged', removeLog);
+        source.addEventListener('resync', () => fetchLogs());
+    }
+
     function renderLogs() {
         if (!Array.isArray(logs)) {
             console.error('Logs is not an array:', logs);
@@ -28,6 +28,7 @@ document.addEventListener('DOMContentLoaded', () => {
     function init() {
         fetchLogs();
         setupEventListeners();
+        subscribeToEvents();
     }
 
     function setupFilterToggle() {
@@ -130,6 +131,27 @@ document.addEventListener('DOMContentLoaded', () => {
             });
     }
 
+    function subscribeToEvents() {
+        if (!window.EventSource) return;
+
+        const source = new EventSource('/admin/events');
+
+        source.addEventListener('log-flagged', (event) => {
+            const { data } = JSON.parse(event.data);
+            logs = logs.filter(log => log.id !== data.violationLog.id);
+            logs.push(data.violationLog);
+            renderLogs();
+        });
+
+        source.addEventListener('log-restored', (event) => {
+            const { data } = JSON.parse(event.data);
+            logs = logs.filter(log => log.id !== data.violationLogId);
+            renderLogs();
+        });
+
+        source.addEventListener('resync', () => fetchLogs());
+    }
+
     function renderLogs() {
         if (logs.length === 0) {
             logsContainer.innerHTML = '<div class="empty-state">No violation logs found.</div>';
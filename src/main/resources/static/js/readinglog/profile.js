@@ -28,7 +28,9 @@ function uploadAvatar(file) {
     })
     .then(data => {
         const imgHost = document.getElementById('imgHost').value;
-        document.getElementById('avatar').src = imgHost + data.filename;
+        const avatar = document.getElementById('avatar');
+        avatar.src = imgHost + data.thumbnail;
+        avatar.srcset = `${imgHost + data.thumbnail} 1x, ${imgHost + data.filename} 2x`;
         showToast('Avatar updated successfully!', 'success');
     })
     .catch(error => {
@@ -3,7 +3,6 @@ document.addEventListener('DOMContentLoaded', () => {
 
     initProgressSection();
     setupEventListeners();
-    fetchAndDisplayBookProgress();
 
     function initProgressSection() {
         const today = new Date().toISOString().split('T')[0];
@@ -14,8 +13,21 @@ document.addEventListener('DOMContentLoaded', () => {
         document.getElementById('customStartDate').value = oneMonthAgoStr;
         document.getElementById('customEndDate').value = today;
 
-        fetchReadingProgress('total');
-        fetchStatistics('total');
+        fetchDashboard('total');
+    }
+
+    function fetchDashboard(period) {
+        makeAuthenticatedRequest(`/api/dashboard?period=${encodeURIComponent(period)}`)
+            .then(handleResponse)
+            .then(data => {
+                renderProgressChart(data.stats);
+                updateStatsCards(data.stats);
+                renderBookProgress(data.bookProgress);
+            })
+            .catch(error => {
+                console.error('Error fetching dashboard:', error);
+                showChartError();
+            });
     }
 
     function setupEventListeners() {
@@ -24,8 +36,7 @@ document.addEventListener('DOMContentLoaded', () => {
                 document.getElementById('customRangeContainer').style.display = 'flex';
             } else {
                 document.getElementById('customRangeContainer').style.display = 'none';
-                fetchReadingProgress(this.value);
-                fetchStatistics(this.value);
+                fetchStatistics(`/api/reading-statistics/by-period?period=${encodeURIComponent(this.value)}`);
             }
         });
 
@@ -42,48 +53,23 @@ document.addEventListener('DOMContentLoaded', () => {
                     return;
                 }
 
-                fetchReadingProgress('custom', startDate, endDate);
-                fetchCustomRangeStatistics(startDate, endDate);
+                fetchStatistics(`/api/reading-statistics/by-date-range?startDate=${encodeURIComponent(startDate)}&endDate=${encodeURIComponent(endDate)}`);
             }
         });
     }
 
-    function fetchReadingProgress(period, startDate, endDate) {
-        let url = `/api/reading-statistics/by-period?period=${encodeURIComponent(period)}`;
-        if (period === 'custom') {
-            url = `/api/reading-statistics/by-date-range?startDate=${startDate}&endDate=${endDate}`;
-        }
-
+    // Book progress does not depend on the period, so a period change only refetches the statistics,
+    // which feed both the chart and the cards
+    function fetchStatistics(url) {
         makeAuthenticatedRequest(url)
             .then(handleResponse)
             .then(data => {
                 renderProgressChart(data);
+                updateStatsCards(data);
             })
-            .catch(error => {
-                console.error('Error fetching progress data:', error);
-                showChartError();
-            });
-    }
-
-    function fetchStatistics(period) {
-        const url = `/api/reading-statistics/by-period?period=${encodeURIComponent(period)}`;
-
-        makeAuthenticatedRequest(url)
-            .then(handleResponse)
-            .then(updateStatsCards)
             .catch(error => {
                 console.error('Error fetching statistics:', error);
-            });
-    }
-
-    function fetchCustomRangeStatistics(startDate, endDate) {
-        const url = `/api/reading-logs/reading-statistics?startDate=${encodeURIComponent(startDate)}&endDate=${encodeURIComponent(endDate)}`;
-
-        makeAuthenticatedRequest(url)
-            .then(handleResponse)
-            .then(updateStatsCards)
-            .catch(error => {
-                console.error('Error fetching custom range statistics:', error);
+                showChartError();
             });
     }
 
@@ -134,32 +120,25 @@ document.addEventListener('DOMContentLoaded', () => {
         });
     }
     
-function fetchAndDisplayBookProgress() {
-    fetch('/book-progress')
-        .then(response => response.json())
-        .then(data => {
-            const container = document.getElementById('booksProgressContainer');
-            container.innerHTML = '';
-
-            for (const [bookTitle, progress] of Object.entries(data.bookProgress)) {
-                const progressItem = document.createElement('div');
-                progressItem.className = 'book-progress-item';
-
-                progressItem.innerHTML = `
-                    <div class="book-title">${bookTitle}</div>
-                    <div class="progress-bar-container">
-                        <div class="progress-bar" style="width: ${Math.min(progress, 100)}%">
-                            ${Math.round(progress)}%
-                        </div>
-                    </div>
-                `;
-
-                container.appendChild(progressItem);
-            }
-        })
-        .catch(error => {
-            console.error('Failed to get book progress:', error);
-        });
+function renderBookProgress(bookProgress) {
+    const container = document.getElementById('booksProgressContainer');
+    container.innerHTML = '';
+
+    for (const [bookTitle, progress] of Object.entries(bookProgress)) {
+        const progressItem = document.createElement('div');
+        progressItem.className = 'book-progress-item';
+
+        progressItem.innerHTML = `
+            <div class="book-title">${bookTitle}</div>
+            <div class="progress-bar-container">
+                <div class="progress-bar" style="width: ${Math.min(progress, 100)}%">
+                    ${Math.round(progress)}%
+                </div>
+            </div>
+        `;
+
+        container.appendChild(progressItem);
+    }
 }
     function showChartError() {
         document.querySelector('.chart-container').innerHTML =
@@ -0,0 +1,101 @@
+package com.cpt202.dailyreadingtracker.admin;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.cpt202.dailyreadingtracker.readinglog.ReadingLog;
+import com.cpt202.dailyreadingtracker.user.User;
+
+class AdminEventServiceTest {
+
+    private AdminEventService adminEventService;
+
+    @BeforeEach
+    void setUp() {
+        adminEventService = new AdminEventService(3);
+    }
+
+    // AES_001
+    @Test
+    public void testEventsAfterReturnsMissedEventsInOrder() {
+        adminEventService.publishLogDeleted(10L);
+        adminEventService.publishLogDeleted(11L);
+        adminEventService.publishLogDeleted(12L);
+
+        List<AdminEvent> missed = adminEventService.eventsAfter(1L);
+
+        assertEquals(2, missed.size());
+        assertEquals(2L, missed.get(0).getId());
+        assertEquals(11L, missed.get(0).getData().get("logId"));
+        assertEquals(3L, missed.get(1).getId());
+    }
+
+    // AES_002
+    @Test
+    public void testEventsAfterLatestEventIsEmpty() {
+        adminEventService.publishLogDeleted(10L);
+
+        assertTrue(adminEventService.eventsAfter(1L).isEmpty());
+    }
+
+    // AES_003
+    @Test
+    public void testEventsAfterEvictedEventRequestsResync() {
+        for (long logId = 1; logId <= 5; logId++) {
+            adminEventService.publishLogDeleted(logId);
+        }
+
+        List<AdminEvent> missed = adminEventService.eventsAfter(0L);
+
+        assertEquals(1, missed.size());
+        assertEquals(AdminEventService.RESYNC, missed.get(0).getType());
+    }
+
+    // AES_004
+    @Test
+    public void testEventsAfterOldestBufferedEventIsReplayed() {
+        for (long logId = 1; logId <= 5; logId++) {
+            adminEventService.publishLogDeleted(logId);
+        }
+
+        List<AdminEvent> missed = adminEventService.eventsAfter(2L);
+
+        assertEquals(List.of(3L, 4L, 5L), missed.stream().map(AdminEvent::getId).toList());
+    }
+
+    // AES_005
+    @Test
+    public void testPublishLogChangeIncludesLogSummary() {
+        User user = new User();
+        user.setUsername("reader");
+
+        ReadingLog log = new ReadingLog();
+        log.setId(7L);
+        log.setTitle("Test Book");
+        log.setAuthor("Test Author");
+        log.setDate(LocalDate.now());
+        log.setUser(user);
+
+        adminEventService.publishLogChange(AdminEventService.LOG_CREATED, log);
+
+        AdminEvent event = adminEventService.eventsAfter(0L).get(0);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> logMap = (Map<String, Object>) event.getData().get("log");
+
+        assertEquals(AdminEventService.LOG_CREATED, event.getType());
+        assertEquals("Test Book", logMap.get("title"));
+        assertEquals("reader", logMap.get("userName"));
+    }
+
+    // AES_006
+    @Test
+    public void testInvalidBufferSize() {
+        assertThrows(IllegalArgumentException.class, () -> new AdminEventService(0));
+    }
+}
@@ -0,0 +1,105 @@
+package com.cpt202.dailyreadingtracker.admin;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.cpt202.dailyreadingtracker.config.DataSourceProxyConfig;
+import com.cpt202.dailyreadingtracker.role.Role;
+import com.cpt202.dailyreadingtracker.role.RoleRepository;
+import com.cpt202.dailyreadingtracker.user.User;
+import com.cpt202.dailyreadingtracker.user.UserRepository;
+import com.cpt202.dailyreadingtracker.utils.EmailService;
+
+import jakarta.persistence.EntityManager;
+
+import static com.cpt202.dailyreadingtracker.support.QueryAssertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Guards the administration bulk operations against per-user query storms
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("perf")
+@Import({DataSourceProxyConfig.class, AdministrationService.class})
+class AdministrationServiceQueryCountTest {
+
+    @Autowired
+    private AdministrationService administrationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @MockitoBean
+    private UserCache userCache;
+
+    private List<Long> userIds;
+
+    @BeforeEach
+    void setUp() {
+        Role userRole = roleRepository.save(new Role("ROLE_USER"));
+        roleRepository.save(new Role("ROLE_ADMIN"));
+
+        userIds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            User user = new User();
+            user.setUsername("reader" + i);
+            user.setEmail("reader" + i + "@example.com");
+            user.setPassword("Password123");
+            user.setRoles(new HashSet<>(Set.of(userRole)));
+            userIds.add(userRepository.save(user).getId());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stopQueryCount();
+    }
+
+    // ASQ_001
+    @Test
+    public void testPromoteUsersToAdminDoesNotQueryPerUser() {
+        resetQueryCount();
+
+        administrationService.promoteUsersToAdmin(userIds);
+        entityManager.flush();
+
+        assertMaxQueries(4);
+    }
+
+    // ASQ_002
+    @Test
+    public void testFreezeUsersDoesNotQueryPerUser() {
+        resetQueryCount();
+
+        administrationService.freezeUserByIds(userIds);
+        entityManager.flush();
+
+        assertMaxQueries(2);
+        assertTrue(userRepository.findAllById(userIds).stream().allMatch(User::isFreezed));
+    }
+}
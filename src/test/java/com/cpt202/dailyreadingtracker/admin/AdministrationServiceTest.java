@@ -12,6 +12,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Sort;
+import org.springframework.security.core.userdetails.UserCache;
 
 import java.util.*;
 
@@ -30,6 +31,9 @@ class AdministrationServiceTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private UserCache userCache;
+
     @InjectMocks
     private AdministrationService administrationService;
 
@@ -63,13 +67,14 @@ class AdministrationServiceTest {
     @Test
     public void testFreezeUserByIdsWithValidIds() {
         List<User> users = Arrays.asList(testUser, new User());
-        when(userRepository.findAllById(anyList())).thenReturn(users);
+        when(userRepository.findAllWithRolesByIdIn(anyList())).thenReturn(users);
 
         administrationService.freezeUserByIds(List.of(1L, 2L));
 
         assertTrue(testUser.isFreezed());
         verify(userRepository, times(2)).save(any());
         verify(emailService).sendAccountFrozenEmail(testUser);
+        verify(userCache).removeUserFromCache("test@example.com");
     }
 
     // ADS_004
@@ -77,7 +82,7 @@ class AdministrationServiceTest {
     public void testPromoteUsersToAdmin() {
         when(roleRepository.findByName("ROLE_ADMIN")).thenReturn(Optional.empty());
         when(roleRepository.save(any())).thenReturn(adminRole);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.findAllWithRolesByIdIn(List.of(1L))).thenReturn(List.of(testUser));
 
         administrationService.promoteUsersToAdmin(List.of(1L));
 
@@ -89,7 +94,7 @@ class AdministrationServiceTest {
     @Test
     public void testDemoteUsersFromAdminWithValidUser() {
         when(roleRepository.findByName("ROLE_USER")).thenReturn(Optional.of(userRole));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.findAllWithRolesByIdIn(List.of(1L))).thenReturn(List.of(testUser));
 
         testUser.setRoles(new HashSet<>());
         testUser.getRoles().add(adminRole);
@@ -98,6 +103,7 @@ class AdministrationServiceTest {
 
         assertTrue(testUser.getRoles().contains(userRole));
         assertFalse(testUser.getRoles().contains(adminRole));
+        verify(userCache).removeUserFromCache("test@example.com");
     }
 
     // ADS_006
@@ -113,8 +119,7 @@ class AdministrationServiceTest {
     @Test
     public void testPromoteUsersToAdminWithUserNotFound() {
         when(roleRepository.findByName("ROLE_ADMIN")).thenReturn(Optional.of(adminRole));
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
-        when(userRepository.findById(2L)).thenReturn(Optional.of(testUser));
+        when(userRepository.findAllWithRolesByIdIn(List.of(1L, 2L))).thenReturn(List.of(testUser));
 
         administrationService.promoteUsersToAdmin(List.of(1L, 2L));
 
@@ -0,0 +1,146 @@
+package com.cpt202.dailyreadingtracker.auth;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.cpt202.dailyreadingtracker.security.CustomUserDetailsService.AccountFrozenException;
+import com.cpt202.dailyreadingtracker.user.User;
+import com.cpt202.dailyreadingtracker.user.UserRepository;
+import com.cpt202.dailyreadingtracker.utils.JWTTokenUtil;
+
+import io.jsonwebtoken.Claims;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ApiTokenServiceTest {
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private JWTTokenUtil jwtTokenUtil;
+    private ApiTokenService apiTokenService;
+    private User testUser;
+    private UserDetails testUserDetails;
+
+    @BeforeEach
+    public void setup() {
+        jwtTokenUtil = new JWTTokenUtil();
+        ReflectionTestUtils.setField(jwtTokenUtil, "secretString", "test-secret-key-that-is-at-least-256-bits-long");
+        ReflectionTestUtils.setField(jwtTokenUtil, "expirationMs", 900000L);
+        jwtTokenUtil.init();
+
+        apiTokenService = new ApiTokenService(authenticationManager, userDetailsService, userRepository,
+            refreshTokenRepository, jwtTokenUtil, Duration.ofMinutes(5), Duration.ofDays(14));
+
+        testUser = new User();
+        testUser.setEmail("usertest@test.com");
+        testUserDetails = org.springframework.security.core.userdetails.User.withUsername("usertest@test.com")
+            .password("encodedPassword")
+            .authorities(new SimpleGrantedAuthority("ROLE_USER"))
+            .build();
+    }
+
+    // ATS_001
+    @Test
+    public void testLoginIssuesAccessAndRefreshTokens() {
+        when(authenticationManager.authenticate(any())).thenReturn(
+            UsernamePasswordAuthenticationToken.authenticated(testUserDetails, null, testUserDetails.getAuthorities()));
+        when(userRepository.findByEmail("usertest@test.com")).thenReturn(Optional.of(testUser));
+
+        Map<String, Object> tokens = apiTokenService.login("usertest@test.com", "Password123");
+
+        Claims access = jwtTokenUtil.parse((String) tokens.get("accessToken"));
+        Claims refresh = jwtTokenUtil.parse((String) tokens.get("refreshToken"));
+
+        assertEquals(ApiTokenService.ACCESS_TOKEN, access.get(ApiTokenService.TOKEN_TYPE_CLAIM));
+        assertEquals(List.of("ROLE_USER"), access.get(ApiTokenService.ROLES_CLAIM));
+        assertEquals("usertest@test.com", access.getSubject());
+        assertEquals(ApiTokenService.REFRESH_TOKEN, refresh.get(ApiTokenService.TOKEN_TYPE_CLAIM));
+        assertEquals(300L, tokens.get("expiresIn"));
+        verify(refreshTokenRepository).save(argThat(saved -> saved.getTokenId().equals(refresh.getId())));
+    }
+
+    // ATS_002
+    @Test
+    public void testRefreshRotatesToken() {
+        String refreshToken = refreshToken("token-id-1");
+        when(refreshTokenRepository.deleteUnexpiredByTokenId(eq("token-id-1"), any())).thenReturn(1);
+        when(userDetailsService.loadUserByUsername("usertest@test.com")).thenReturn(testUserDetails);
+        when(userRepository.findByEmail("usertest@test.com")).thenReturn(Optional.of(testUser));
+
+        Map<String, Object> tokens = apiTokenService.refresh(refreshToken);
+
+        String newTokenId = jwtTokenUtil.parse((String) tokens.get("refreshToken")).getId();
+        assertNotEquals("token-id-1", newTokenId);
+        verify(refreshTokenRepository).save(argThat(saved -> saved.getTokenId().equals(newTokenId)));
+    }
+
+    // ATS_003
+    @Test
+    public void testReusedRefreshTokenRevokesAllTokens() {
+        String refreshToken = refreshToken("token-id-1");
+        when(refreshTokenRepository.deleteUnexpiredByTokenId(eq("token-id-1"), any())).thenReturn(0);
+
+        assertThrows(BadCredentialsException.class, () -> apiTokenService.refresh(refreshToken));
+
+        verify(refreshTokenRepository).deleteAllByUserEmail("usertest@test.com");
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    // ATS_004
+    @Test
+    public void testAccessTokenCannotBeUsedToRefresh() {
+        String accessToken = jwtTokenUtil.generateToken("usertest@test.com",
+            Map.of(ApiTokenService.TOKEN_TYPE_CLAIM, ApiTokenService.ACCESS_TOKEN), Duration.ofMinutes(5));
+
+        assertThrows(BadCredentialsException.class, () -> apiTokenService.refresh(accessToken));
+        assertThrows(BadCredentialsException.class, () -> apiTokenService.refresh("not-a-token"));
+        verifyNoInteractions(refreshTokenRepository);
+    }
+
+    // ATS_005
+    @Test
+    public void testRefreshForFrozenAccountIsLocked() {
+        String refreshToken = refreshToken("token-id-1");
+        when(refreshTokenRepository.deleteUnexpiredByTokenId(eq("token-id-1"), any())).thenReturn(1);
+        when(userDetailsService.loadUserByUsername("usertest@test.com"))
+            .thenThrow(new AccountFrozenException("Account is frozen"));
+
+        assertThrows(LockedException.class, () -> apiTokenService.refresh(refreshToken));
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    private String refreshToken(String tokenId) {
+        return jwtTokenUtil.generateToken("usertest@test.com",
+            Map.of(ApiTokenService.TOKEN_TYPE_CLAIM, ApiTokenService.REFRESH_TOKEN, Claims.ID, tokenId),
+            Duration.ofDays(14));
+    }
+}
@@ -1,6 +1,8 @@
 package com.cpt202.dailyreadingtracker.auth;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 
@@ -19,13 +21,10 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import com.cpt202.dailyreadingtracker.security.SecurityService;
 import com.cpt202.dailyreadingtracker.user.User;
 import com.cpt202.dailyreadingtracker.user.UserRepository;
-import com.cpt202.dailyreadingtracker.utils.FileStorageService;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-import java.io.IOException;
-
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 
@@ -41,9 +40,6 @@ class AuthControllerTest {
     @Mock
     private UserRepository userRepository;
 
-    @Mock
-    private FileStorageService fileStorageService;
-
     @InjectMocks
     private AuthController authController;
 
@@ -105,8 +101,8 @@ class AuthControllerTest {
         MockMultipartFile invalidAvatar = new MockMultipartFile(
                 "avatar", "test.jpg", "image/jpg", "test-image".getBytes());
 
-        doThrow(new IOException("JPG format not supported"))
-                .when(fileStorageService).validateFile(invalidAvatar);
+        doThrow(new AuthService.AvatarRejectedException("Invalid file type. Only JPEG/PNG images are allowed", null))
+                .when(authService).register(any(), eq(invalidAvatar), any());
 
         mockMvc.perform(multipart("/register")
                         .file(invalidAvatar)
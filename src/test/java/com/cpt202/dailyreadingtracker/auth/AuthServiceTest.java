@@ -16,7 +16,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.cpt202.dailyreadingtracker.role.Role;
 import com.cpt202.dailyreadingtracker.role.RoleRepository;
@@ -37,7 +37,7 @@ public class AuthServiceTest {
     private RoleRepository roleRepository;
     
     @Mock
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordEncoder passwordEncoder;
     
     @Mock
     private FileStorageService fileStorageService;
@@ -75,7 +75,7 @@ public class AuthServiceTest {
         when(userRepository.count()).thenReturn(1L);
         when(roleRepository.findByName("ROLE_USER")).thenReturn(Optional.of(userRole));
         when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
-        when(fileStorageService.storeAvatar(any(), anyString())).thenReturn("avatar.png");
+        when(fileStorageService.storeAvatar(any(MultipartFile.class), anyString())).thenReturn("avatar.png");
 
         authService.register(testUser, testAvatar, request);
 
@@ -139,7 +139,7 @@ public class AuthServiceTest {
     public void testRegisterWithAvatarUploadFailed() throws IOException {
         when(userRepository.existsByEmail(anyString())).thenReturn(false);
         when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(fileStorageService.storeAvatar(any(), anyString()))
+        when(fileStorageService.storeAvatar(any(MultipartFile.class), anyString()))
                 .thenThrow(new IOException("Avatar upload failed"));
 
         assertThrows(RuntimeException.class,
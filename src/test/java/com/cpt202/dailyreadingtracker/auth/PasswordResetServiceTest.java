@@ -17,6 +17,7 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.cpt202.dailyreadingtracker.user.UserRepository;
@@ -44,6 +45,9 @@ public class PasswordResetServiceTest {
     @Mock
     private JWTTokenUtil jwtTokenUtil;
 
+    @Mock
+    private UserCache userCache;
+
     @Mock
     private HttpServletRequest request;
 
@@ -76,6 +80,7 @@ public class PasswordResetServiceTest {
         
         assertEquals("encodedNewPassword", testUser.getPassword());
         verify(userRepository).save(testUser);
+        verify(userCache).removeUserFromCache("usertest@test.com");
     }
 
     // PR_002
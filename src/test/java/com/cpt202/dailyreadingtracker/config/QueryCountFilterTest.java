@@ -0,0 +1,99 @@
+package com.cpt202.dailyreadingtracker.config;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCountFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private QueryCountFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new QueryCountFilter(meterRegistry, 30, 10);
+    }
+
+    // QCF_001
+    @Test
+    public void testServerTimingHeaderIsAddedBeforeBodyIsWritten() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/reading-logs/5");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/reading-logs/{logId}");
+                QueryCounter.record("select * from reading_logs where id=?", 3);
+                QueryCounter.record("select * from users where id=?", 2);
+                resp.getWriter().write("{}");
+                resp.flushBuffer();
+                QueryCounter.record("select * from roles", 1);
+            }
+        }));
+
+        assertEquals("db;dur=5;desc=\"2 queries\"", response.getHeader("Server-Timing"));
+
+        DistributionSummary summary = meterRegistry.get("app.request.queries")
+                .tag("uri", "/api/reading-logs/{logId}")
+                .tag("method", "GET")
+                .summary();
+        assertEquals(1, summary.count());
+        assertEquals(3, summary.totalAmount());
+    }
+
+    // QCF_002
+    @Test
+    public void testServerTimingHeaderIsAddedForEmptyResponses() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("DELETE", "/api/reading-logs/5");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doDelete(HttpServletRequest req, HttpServletResponse resp) {
+                QueryCounter.record("delete from reading_logs where id=?", 4);
+            }
+        }));
+
+        assertEquals("db;dur=4;desc=\"1 queries\"", response.getHeader("Server-Timing"));
+    }
+
+    // QCF_003
+    @Test
+    public void testStatementsOutsideCountingAreIgnored() {
+        QueryCounter.stop();
+        QueryCounter.record("select 1", 1);
+
+        assertEquals(0, QueryCounter.stop().getQueries());
+    }
+
+    // QCF_004
+    @Test
+    public void testMostRepeatedStatementIsReported() {
+        QueryCounter.start();
+        for (int i = 0; i < 3; i++) {
+            QueryCounter.record("select * from users where id=?", 1);
+        }
+        QueryCounter.record("select * from roles", 1);
+
+        QueryCounter.Stats stats = QueryCounter.stop();
+
+        assertEquals(4, stats.getQueries());
+        assertEquals("select * from users where id=?", stats.mostRepeated().getKey());
+        assertEquals(3, stats.mostRepeated().getValue());
+    }
+}
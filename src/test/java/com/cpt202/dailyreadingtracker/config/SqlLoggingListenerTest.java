@@ -0,0 +1,99 @@
+package com.cpt202.dailyreadingtracker.config;
+
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.cpt202.dailyreadingtracker.user.UserRepository;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("perf")
+@ImportAutoConfiguration(AopAutoConfiguration.class)
+@Import({DataSourceProxyConfig.class, RepositoryMethodAspect.class})
+@TestPropertySource(properties = {"app.sql.log.slow-threshold=0ms", "app.sql.log.sample-rate=0"})
+class SqlLoggingListenerTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Logger sqlLogger;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        sqlLogger = (Logger) LoggerFactory.getLogger(SqlLoggingListener.class);
+        appender = new ListAppender<>();
+        appender.start();
+        sqlLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sqlLogger.detachAppender(appender);
+    }
+
+    // SQL_001
+    @Test
+    public void testSlowStatementIsLoggedWithOriginAndParameterShape() {
+        userRepository.findByEmail("reader@example.com");
+
+        ILoggingEvent event = appender.list.stream()
+                .filter(logged -> logged.getFormattedMessage().contains("origin=UserRepository.findByEmail"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No SQL line attributed to findByEmail: " + appender.list));
+
+        assertEquals(Level.WARN, event.getLevel());
+        assertTrue(event.getFormattedMessage().contains("params=(String[18])"), event.getFormattedMessage());
+        assertFalse(event.getFormattedMessage().contains("reader@example.com"), "Parameter values must not be logged");
+    }
+
+    // SQL_002
+    @Test
+    public void testInheritedRepositoryMethodsAreAttributed() {
+        userRepository.findById(Long.valueOf(1));
+
+        assertTrue(appender.list.stream()
+                .anyMatch(logged -> logged.getFormattedMessage().contains("origin=UserRepository.findById")),
+                "No SQL line attributed to findById: " + appender.list);
+    }
+
+    // SQL_003
+    @Test
+    public void testParameterShapeIsOrderedByIndex() throws Exception {
+        Method setObject = PreparedStatement.class.getMethod("setObject", int.class, Object.class);
+        Method setNull = PreparedStatement.class.getMethod("setNull", int.class, int.class);
+
+        QueryInfo queryInfo = new QueryInfo("select * from reading_logs where user_id = ? and title = ? and notes = ?");
+        queryInfo.getParametersList().add(List.of(
+                new ParameterSetOperation(setNull, new Object[] {3, Types.VARCHAR}),
+                new ParameterSetOperation(setObject, new Object[] {1, 42L}),
+                new ParameterSetOperation(setObject, new Object[] {2, "Dune"})));
+
+        assertEquals("(Long, String[4], null)", SqlLoggingListener.parameterShape(List.of(queryInfo)));
+        assertEquals("()", SqlLoggingListener.parameterShape(List.of(new QueryInfo("select 1"))));
+    }
+}
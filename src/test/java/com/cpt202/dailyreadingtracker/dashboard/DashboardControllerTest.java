@@ -0,0 +1,61 @@
+package com.cpt202.dailyreadingtracker.dashboard;
+
+import java.security.Principal;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardControllerTest {
+
+    @Mock
+    private DashboardService dashboardService;
+
+    @InjectMocks
+    private DashboardController controller;
+
+    private MockMvc mockMvc;
+    private Principal mockPrincipal;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        mockPrincipal = () -> "test@test.com";
+    }
+
+    // DC_001
+    @Test
+    public void testGetDashboardWithDefaults() throws Exception {
+        when(dashboardService.getDashboard("test@test.com", "total"))
+                .thenReturn(Map.of("stats", Map.of("bookCount", 2)));
+
+        mockMvc.perform(get("/api/dashboard").principal(mockPrincipal))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stats.bookCount").value(2));
+    }
+
+    // DC_002
+    @Test
+    public void testGetDashboardForPeriod() throws Exception {
+        when(dashboardService.getDashboard("test@test.com", "last_week"))
+                .thenReturn(Map.of("stats", Map.of("bookCount", 1)));
+
+        mockMvc.perform(get("/api/dashboard")
+                        .param("period", "last_week")
+                        .principal(mockPrincipal))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stats.bookCount").value(1));
+    }
+}
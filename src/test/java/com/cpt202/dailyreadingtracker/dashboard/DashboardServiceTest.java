@@ -0,0 +1,137 @@
+package com.cpt202.dailyreadingtracker.dashboard;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.cpt202.dailyreadingtracker.readinglog.ReadingLog;
+import com.cpt202.dailyreadingtracker.readinglog.ReadingLogRepository;
+import com.cpt202.dailyreadingtracker.readingstatistics.ReadingStatisticsService;
+import com.cpt202.dailyreadingtracker.readingstatistics.StatisticsRequestCoalescer;
+import com.cpt202.dailyreadingtracker.user.User;
+import com.cpt202.dailyreadingtracker.user.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ReadingLogRepository readingLogRepository;
+
+    private ExecutorService executor;
+    private DashboardService dashboardService;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        dashboardService = new DashboardService(userRepository, readingLogRepository,
+                new ReadingStatisticsService(readingLogRepository, userRepository,
+                        new StatisticsRequestCoalescer(new SimpleMeterRegistry())), executor);
+
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setUsername("reader");
+        testUser.setEmail("test@test.com");
+        testUser.setRoles(new HashSet<>());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // DS_001
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetDashboardLoadsLogsOnce() {
+        List<ReadingLog> logs = List.of(
+                createTestLog("Book 1", LocalDate.now().minusDays(2), 30, 10, 100),
+                createTestLog("Book 1", LocalDate.now().minusDays(1), 45, 50, 100),
+                createTestLog("Book 2", LocalDate.now(), 60, 20, 200)
+        );
+
+        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(testUser));
+        when(readingLogRepository.findByUserId(1L)).thenReturn(logs);
+
+        Map<String, Object> result = dashboardService.getDashboard("test@test.com", "total");
+
+        Map<String, Object> stats = (Map<String, Object>) result.get("stats");
+        Map<String, Double> bookProgress = (Map<String, Double>) result.get("bookProgress");
+
+        assertEquals(List.of("stats", "bookProgress"), List.copyOf(result.keySet()));
+        assertEquals(2, stats.get("bookCount"));
+        assertEquals(50.0, bookProgress.get("Book 1"));
+        verify(readingLogRepository, times(1)).findByUserId(1L);
+    }
+
+    // DS_002
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetDashboardForPeriod() {
+        List<ReadingLog> logs = List.of(
+                createTestLog("Book 1", LocalDate.now().minusMonths(2), 30, 10, 100),
+                createTestLog("Book 2", LocalDate.now().minusDays(1), 45, 50, 100)
+        );
+
+        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(testUser));
+        when(readingLogRepository.findByUserId(1L)).thenReturn(logs);
+
+        Map<String, Object> result = dashboardService.getDashboard("test@test.com", "last_week");
+        Map<String, Object> stats = (Map<String, Object>) result.get("stats");
+
+        assertEquals(1, stats.get("bookCount"));
+        assertEquals(45L, stats.get("totalReadingTime"));
+    }
+
+    // DS_003
+    @Test
+    public void testGetDashboardWithInvalidPeriod() {
+        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(testUser));
+        when(readingLogRepository.findByUserId(1L))
+                .thenReturn(List.of(createTestLog("Book 1", LocalDate.now(), 30, 10, 100)));
+
+        assertThrows(IllegalArgumentException.class, () ->
+                dashboardService.getDashboard("test@test.com", "invalid"));
+    }
+
+    // DS_004
+    @Test
+    public void testGetDashboardWithUnknownUser() {
+        when(userRepository.findByEmail("unknown@test.com")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () ->
+                dashboardService.getDashboard("unknown@test.com", "total"));
+        verifyNoInteractions(readingLogRepository);
+    }
+
+    private ReadingLog createTestLog(String title, LocalDate date, int timeSpent, int currentPage, int totalPages) {
+        ReadingLog log = new ReadingLog();
+        log.setTitle(title);
+        log.setDate(date);
+        log.setTimeSpent(timeSpent);
+        log.setCurrentPage(currentPage);
+        log.setTotalPages(totalPages);
+        log.setUser(testUser);
+        return log;
+    }
+}
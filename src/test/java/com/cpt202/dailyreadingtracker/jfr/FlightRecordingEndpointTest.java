@@ -0,0 +1,90 @@
+package com.cpt202.dailyreadingtracker.jfr;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecordingEndpointTest {
+
+    private FlightRecordingEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        endpoint = new FlightRecordingEndpoint();
+    }
+
+    @AfterEach
+    void tearDown() {
+        endpoint.stop();
+    }
+
+    // FRE_001
+    @Test
+    public void testDumpContainsDomainEvents() throws Exception {
+        WebEndpointResponse<Map<String, Object>> started = endpoint.start(null, 60L);
+        assertEquals(200, started.getStatus());
+        assertEquals(FlightRecordingEndpoint.RECORDING_NAME, started.getBody().get("name"));
+
+        ReadingLogWriteEvent event = new ReadingLogWriteEvent();
+        event.begin();
+        event.setOperation(ReadingLogWriteEvent.CREATE);
+        event.setUserId(7);
+        event.setLogId(42);
+        event.setChainLength(3);
+        event.commit();
+
+        WebEndpointResponse<Resource> dump = endpoint.dump((Long) started.getBody().get("id"));
+        assertEquals(200, dump.getStatus());
+
+        Path copy = Files.createTempFile("dump-", ".jfr");
+        try (InputStream in = dump.getBody().getInputStream()) {
+            Files.copy(in, copy, StandardCopyOption.REPLACE_EXISTING);
+        }
+        assertFalse(dump.getBody().exists(), "Dumped file should be deleted once streamed");
+
+        List<RecordedEvent> writes = RecordingFile.readAllEvents(copy).stream()
+                .filter(recorded -> recorded.getEventType().getName().equals("dailyreadingtracker.ReadingLogWrite"))
+                .toList();
+        Files.delete(copy);
+
+        assertEquals(1, writes.size());
+        assertEquals("create", writes.get(0).getString("operation"));
+        assertEquals(42, writes.get(0).getLong("logId"));
+        assertEquals(3, writes.get(0).getLong("chainLength"));
+    }
+
+    // FRE_002
+    @Test
+    public void testSecondStartIsRejectedWhileRecording() {
+        assertEquals(200, endpoint.start("profile", null).getStatus());
+        assertEquals(409, endpoint.start(null, null).getStatus());
+    }
+
+    // FRE_003
+    @Test
+    public void testUnknownSettingsAreRejected() {
+        assertEquals(400, endpoint.start("everything", null).getStatus());
+        assertEquals(400, endpoint.start(null, 0L).getStatus());
+    }
+
+    // FRE_004
+    @Test
+    public void testDumpOfUnknownRecordingIsNotFound() throws Exception {
+        assertEquals(404, endpoint.dump(Long.MAX_VALUE).getStatus());
+        assertEquals(404, endpoint.stop().getStatus());
+    }
+}
@@ -0,0 +1,193 @@
+package com.cpt202.dailyreadingtracker.perf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.cpt202.dailyreadingtracker.seed.SeedProperties;
+import com.cpt202.dailyreadingtracker.seed.SyntheticDataGenerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end throughput test for the main HTTP endpoints.
+ * <p>
+ * Boots the full application against H2 in MySQL mode, seeds it with {@link SyntheticDataGenerator},
+ * then drives each endpoint from concurrent clients and records p50/p99 latency and requests/sec.
+ * The run fails when a scenario exceeds its budget in {@code perf/latency-budget.properties}.
+ * Run with {@code mvn test -Pload-test}.
+ * </p>
+ */
+
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+@ActiveProfiles("perf")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class HttpThroughputTest {
+
+    private static final String PASSWORD = "Password123";
+    private static final Pattern CREATED_ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private static final int USERS = 20;
+    private static final int LOGS_PER_USER = 100;
+    private static final int CLIENTS = 8;
+    private static final int WARMUP_REQUESTS = 50;
+    private static final int REQUESTS = 400;
+    private static final int LOGIN_REQUESTS = 40;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SyntheticDataGenerator dataGenerator;
+
+    private final Properties budget = new Properties();
+    private final List<String> violations = new ArrayList<>();
+    private ExecutorService clients;
+    private PerfClient client;
+
+    @BeforeAll
+    public void setUp() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/perf/latency-budget.properties")) {
+            budget.load(in);
+        }
+
+        seed();
+        client = new PerfClient(port);
+        clients = Executors.newFixedThreadPool(CLIENTS);
+    }
+
+    @AfterAll
+    public void tearDown() {
+        clients.shutdownNow();
+    }
+
+    // PERF_001
+    @Test
+    public void testEndpointsStayWithinBudget() throws Exception {
+        String userSession = client.login("reader0@example.com", PASSWORD);
+        String adminSession = client.login("readeradmin0@example.com", PASSWORD);
+
+        System.out.printf("%-24s %8s %10s %10s %10s%n", "scenario", "requests", "p50 ms", "p99 ms", "req/s");
+
+        run("login", LOGIN_REQUESTS, i -> client.login("reader" + (i % USERS) + "@example.com", PASSWORD));
+
+        run("reading-logs.list", REQUESTS, i -> client.get(userSession, "/api/reading-logs"));
+
+        ConcurrentLinkedQueue<Long> createdIds = new ConcurrentLinkedQueue<>();
+        AtomicInteger bookNumber = new AtomicInteger();
+        run("reading-logs.create", REQUESTS, i -> {
+            String body = client.send(userSession, "POST", "/api/reading-logs", logJson("Perf Book " + bookNumber.incrementAndGet(), 10));
+            Matcher matcher = CREATED_ID.matcher(body);
+            if (matcher.find()) {
+                createdIds.add(Long.parseLong(matcher.group(1)));
+            }
+            return body;
+        });
+
+        List<Long> ids = new ArrayList<>(createdIds);
+        run("reading-logs.update", ids.size(), i ->
+                client.send(userSession, "PUT", "/api/reading-logs/" + ids.get(i), logJson("Perf Book Updated " + i, 20)));
+        run("reading-logs.delete", ids.size(), 0, i -> client.send(userSession, "DELETE", "/api/reading-logs/" + ids.get(i), null));
+
+        run("reading-statistics", REQUESTS, i -> client.get(userSession, "/api/reading-statistics/by-period?period=last_month"));
+
+        run("all-user-logs.filter", REQUESTS, i -> client.get(adminSession, "/sorted_loglist_allusers/filter?query=winter&minTime=30"));
+        run("violation-logs.filter", REQUESTS, i -> client.get(adminSession, "/getviologs/filter?query=winter&minTime=30"));
+
+        assertTrue(violations.isEmpty(), "Budget exceeded:\n" + String.join("\n", violations));
+    }
+
+    private void run(String scenario, int requests, Request request) throws Exception {
+        run(scenario, requests, WARMUP_REQUESTS, request);
+    }
+
+    private void run(String scenario, int requests, int warmupRequests, Request request) throws Exception {
+        for (int i = 0; i < Math.min(warmupRequests, requests); i++) {
+            request.send(i);
+        }
+
+        long start = System.nanoTime();
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            int index = i;
+            futures.add(clients.submit(() -> {
+                long requestStart = System.nanoTime();
+                request.send(index);
+                return System.nanoTime() - requestStart;
+            }));
+        }
+
+        long[] latencies = new long[requests];
+        for (int i = 0; i < requests; i++) {
+            latencies[i] = futures.get(i).get();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        Arrays.sort(latencies);
+        double p50 = percentile(latencies, 0.50);
+        double p99 = percentile(latencies, 0.99);
+        double rps = requests / seconds;
+        System.out.printf("%-24s %8d %10.1f %10.1f %10.1f%n", scenario, requests, p50, p99, rps);
+
+        double maxP99 = Double.parseDouble(budget.getProperty(scenario + ".p99-ms"));
+        double minRps = Double.parseDouble(budget.getProperty(scenario + ".min-rps"));
+        if (p99 > maxP99) {
+            violations.add(String.format("%s p99 %.1f ms > %.1f ms", scenario, p99, maxP99));
+        }
+        if (rps < minRps) {
+            violations.add(String.format("%s %.1f req/s < %.1f req/s", scenario, rps, minRps));
+        }
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private static String logJson(String title, int currentPage) {
+        return "{\"title\":\"" + title + "\",\"author\":\"Perf Author\",\"date\":\"" + LocalDate.now()
+                + "\",\"timeSpent\":30,\"currentPage\":" + currentPage + ",\"totalPages\":300,\"notes\":\"winter reading\"}";
+    }
+
+    private void seed() {
+        SeedProperties settings = new SeedProperties();
+        settings.setUsers(USERS + 1);
+        settings.setUsernamePrefix("reader");
+        settings.setPassword(PASSWORD);
+        settings.setFrozenRatio(0);
+        settings.setBooks(200);
+        settings.setMeanLogsPerUser(LOGS_PER_USER);
+        settings.setViolationRatio(0.1);
+
+        dataGenerator.generate(settings);
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        Object send(int index) throws Exception;
+    }
+}
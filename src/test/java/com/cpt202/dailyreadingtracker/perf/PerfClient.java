@@ -0,0 +1,105 @@
+package com.cpt202.dailyreadingtracker.perf;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HTTP client for the load tests: logs in through the form login and sends requests with the session cookie.
+ */
+
+class PerfClient {
+
+    private static final Pattern CSRF_FIELD = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+
+    private final int port;
+    private final HttpClient client = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+
+    PerfClient(int port) {
+        this.port = port;
+    }
+
+    String login(String email, String password) throws IOException, InterruptedException {
+        FormResponse response = submitForm("/auth", "/login", Map.of("username", email, "password", password));
+
+        assertEquals(302, response.status());
+        assertTrue(response.location().endsWith("/home") || response.location().endsWith("/homeforadmin"),
+                "Login failed for " + email + ": " + response.location());
+
+        return response.cookies();
+    }
+
+    /**
+     * Opens {@code pagePath} anonymously and posts {@code fields} to {@code actionPath} with the page's CSRF token,
+     * the way a browser submits a form.
+     */
+    FormResponse submitForm(String pagePath, String actionPath, Map<String, String> fields)
+            throws IOException, InterruptedException {
+        HttpResponse<String> page = client.send(HttpRequest.newBuilder(uri(pagePath)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        String pageCookies = cookies(page);
+
+        Matcher csrf = CSRF_FIELD.matcher(page.body());
+        assertTrue(csrf.find(), pagePath + " did not contain a CSRF token");
+
+        String form = fields.entrySet().stream()
+                .map(field -> encode(field.getKey()) + "=" + encode(field.getValue()))
+                .collect(Collectors.joining("&")) + "&_csrf=" + encode(csrf.group(1));
+
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri(actionPath))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .header("Cookie", pageCookies)
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        String responseCookies = cookies(response);
+        return new FormResponse(response.statusCode(), response.headers().firstValue("Location").orElse(""),
+                responseCookies.isEmpty() ? pageCookies : responseCookies);
+    }
+
+    String get(String session, String path) throws IOException, InterruptedException {
+        return send(session, "GET", path, null);
+    }
+
+    String send(String session, String method, String path, String json) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path)).header("Cookie", session);
+        if (json != null) {
+            builder.header("Content-Type", "application/json");
+        }
+        builder.method(method, json == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(json));
+
+        HttpResponse<String> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(method + " " + path + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static String cookies(HttpResponse<?> response) {
+        return response.headers().allValues("Set-Cookie").stream()
+                .map(cookie -> cookie.split(";", 2)[0])
+                .collect(Collectors.joining("; "));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    record FormResponse(int status, String location, String cookies) {}
+}
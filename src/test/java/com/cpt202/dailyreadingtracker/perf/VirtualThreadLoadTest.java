@@ -0,0 +1,296 @@
+package com.cpt202.dailyreadingtracker.perf;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.cpt202.dailyreadingtracker.DailyreadingtrackerApplication;
+import com.cpt202.dailyreadingtracker.seed.SeedProperties;
+import com.cpt202.dailyreadingtracker.seed.SyntheticDataGenerator;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test comparing Tomcat on platform threads with Tomcat on virtual threads.
+ * <p>
+ * Boots the full application once per thread mode, each against its own H2 database, real Hikari pool and
+ * Jakarta Mail talking to a local SMTP stub, then drives the real endpoints from more concurrent clients than
+ * Tomcat has platform threads. Each scenario prints requests/sec and the number of {@code jdk.VirtualThreadPinned}
+ * JFR events observed while it ran. Run with {@code mvn test -Pload-test}.
+ * </p>
+ */
+
+@Tag("load")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class VirtualThreadLoadTest {
+
+    private static final String PASSWORD = "Password123";
+
+    private static final int USERS = 200;
+    private static final int CLIENTS = 300;
+    private static final int WARMUP_REQUESTS = 100;
+    private static final int REQUESTS = 2000;
+
+    private SmtpStub smtp;
+    private ConfigurableApplicationContext platformApp;
+    private ConfigurableApplicationContext virtualApp;
+    private ExecutorService clients;
+
+    @BeforeAll
+    public void setUp() throws IOException {
+        smtp = new SmtpStub(Duration.ofMillis(20));
+        platformApp = start("platform", false);
+        virtualApp = start("virtual", true);
+        clients = Executors.newFixedThreadPool(CLIENTS);
+    }
+
+    @AfterAll
+    public void tearDown() throws IOException {
+        clients.shutdownNow();
+        virtualApp.close();
+        platformApp.close();
+        smtp.close();
+    }
+
+    // VT_001
+    @Test
+    public void testJdbcBoundRequestsKeepUpOnVirtualThreads() throws Exception {
+        Result platform = listReadingLogs("jdbc/platform", platformApp);
+        Result virtual = listReadingLogs("jdbc/virtual", virtualApp);
+
+        assertTrue(virtual.requestsPerSecond() >= platform.requestsPerSecond() * 0.8,
+                "Virtual threads should keep up with the platform pool when the connection pool is the limit");
+    }
+
+    // VT_002
+    @Test
+    public void testMailSendsPinButStayBounded() throws Exception {
+        Result platform = requestPasswordResets("mail/platform", platformApp);
+        int platformSessions = smtp.resetMaxConcurrentSessions();
+        Result virtual = requestPasswordResets("mail/virtual", virtualApp);
+        int virtualSessions = smtp.resetMaxConcurrentSessions();
+
+        System.out.printf("max concurrent SMTP sessions: platform %d, virtual %d%n", platformSessions, virtualSessions);
+        assertEquals(0, platform.pinnedEvents());
+        assertTrue(virtual.pinnedEvents() > 0, "SMTP sends inside Jakarta Mail's synchronized transport are expected to pin");
+        assertTrue(virtualSessions <= 4, "EmailService should bound concurrent sends on virtual threads");
+    }
+
+    private Result listReadingLogs(String scenario, ConfigurableApplicationContext app) throws Exception {
+        PerfClient client = client(app);
+        String session = client.login("reader0@example.com", PASSWORD);
+
+        return run(scenario, REQUESTS, WARMUP_REQUESTS, i -> client.get(session, "/api/reading-logs"));
+    }
+
+    private Result requestPasswordResets(String scenario, ConfigurableApplicationContext app) throws Exception {
+        PerfClient client = client(app);
+        int delivered = smtp.messages();
+
+        // One request per user: concurrent resets for the same user would race on its reset token
+        Result result = run(scenario, USERS, 0, i -> {
+            PerfClient.FormResponse response = client.submitForm("/forgot-password", "/forgot-password",
+                    Map.of("email", "reader" + i + "@example.com"));
+            assertEquals(302, response.status());
+            return response;
+        });
+
+        assertEquals(USERS, smtp.messages() - delivered, "Every password reset should reach the SMTP server");
+        return result;
+    }
+
+    private Result run(String scenario, int requests, int warmupRequests, Request request) throws Exception {
+        for (int i = 0; i < warmupRequests; i++) {
+            request.send(i);
+        }
+
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(1));
+            recording.start();
+
+            long start = System.nanoTime();
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                int index = i;
+                futures.add(clients.submit(() -> request.send(index)));
+            }
+            for (Future<Object> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            recording.stop();
+            Path dump = Files.createTempFile("virtual-thread-load", ".jfr");
+            try {
+                recording.dump(dump);
+                long pinned = RecordingFile.readAllEvents(dump).stream()
+                        .filter(event -> event.getEventType().getName().equals("jdk.VirtualThreadPinned"))
+                        .count();
+
+                Result result = new Result(requests / seconds, pinned);
+                System.out.printf("%-14s %10.1f req/s %6d pinned%n", scenario, result.requestsPerSecond(), pinned);
+                return result;
+            } finally {
+                Files.deleteIfExists(dump);
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext start(String mode, boolean virtualThreads) {
+        ConfigurableApplicationContext app = new SpringApplicationBuilder(DailyreadingtrackerApplication.class)
+                .profiles("perf")
+                // Arguments rather than default properties, so they win over application-perf.properties
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:vt-" + mode
+                                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.mail.port=" + smtp.port(),
+                        "--spring.mail.properties.mail.smtp.ssl.enable=false",
+                        "--spring.mail.properties.mail.smtp.auth=false",
+                        "--spring.mail.properties.mail.smtp.localhost=localhost",
+                        "--app.rate-limit.limits.password-reset-request.capacity=100000",
+                        "--app.uploads.gc.enabled=false");
+
+        SeedProperties settings = new SeedProperties();
+        settings.setUsers(USERS + 1);
+        settings.setUsernamePrefix("reader");
+        settings.setPassword(PASSWORD);
+        settings.setFrozenRatio(0);
+        settings.setBooks(200);
+        settings.setMeanLogsPerUser(50);
+        settings.setViolationRatio(0);
+
+        app.getBean(SyntheticDataGenerator.class).generate(settings);
+        return app;
+    }
+
+    private static PerfClient client(ConfigurableApplicationContext app) {
+        return new PerfClient(((WebServerApplicationContext) app).getWebServer().getPort());
+    }
+
+    private record Result(double requestsPerSecond, long pinnedEvents) {}
+
+    @FunctionalInterface
+    private interface Request {
+        Object send(int index) throws Exception;
+    }
+
+    /**
+     * Minimal SMTP server that accepts every message after a fixed delay and tracks concurrent sessions.
+     */
+    private static class SmtpStub implements AutoCloseable {
+        private final ServerSocket serverSocket = new ServerSocket(0);
+        // Platform threads: the server stands in for a remote host and must not wait for carriers the app has pinned
+        private final ExecutorService sessions = Executors.newCachedThreadPool();
+        private final Duration delay;
+        private final AtomicInteger openSessions = new AtomicInteger();
+        private final AtomicInteger maxConcurrentSessions = new AtomicInteger();
+        private final AtomicInteger messages = new AtomicInteger();
+
+        SmtpStub(Duration delay) throws IOException {
+            this.delay = delay;
+            sessions.submit(this::accept);
+        }
+
+        int port() {
+            return serverSocket.getLocalPort();
+        }
+
+        int messages() {
+            return messages.get();
+        }
+
+        int resetMaxConcurrentSessions() {
+            return maxConcurrentSessions.getAndSet(0);
+        }
+
+        private void accept() {
+            try {
+                while (true) {
+                    Socket socket = serverSocket.accept();
+                    sessions.submit(() -> serve(socket));
+                }
+            } catch (SocketException e) {
+                // Closed
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private Void serve(Socket socket) throws Exception {
+            maxConcurrentSessions.accumulateAndGet(openSessions.incrementAndGet(), Math::max);
+            boolean open = true;
+            try (socket;
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+                 PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.ISO_8859_1)) {
+                reply(out, "220 localhost");
+
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String command = line.length() < 4 ? line : line.substring(0, 4).toUpperCase();
+                    if (command.equals("DATA")) {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // Discard the message body
+                        }
+                        Thread.sleep(delay);
+                        messages.incrementAndGet();
+                        reply(out, "250 OK");
+                    } else if (command.equals("QUIT")) {
+                        // Closed before replying, so the next sender cannot be counted while this one is finishing
+                        openSessions.decrementAndGet();
+                        open = false;
+                        reply(out, "221 Bye");
+                        break;
+                    } else {
+                        reply(out, "250 OK");
+                    }
+                }
+            } finally {
+                if (open) {
+                    openSessions.decrementAndGet();
+                }
+            }
+            return null;
+        }
+
+        private static void reply(PrintWriter out, String line) {
+            out.print(line + "\r\n");
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+            sessions.shutdownNow();
+        }
+    }
+}
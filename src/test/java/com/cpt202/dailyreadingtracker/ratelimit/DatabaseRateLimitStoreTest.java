@@ -0,0 +1,104 @@
+package com.cpt202.dailyreadingtracker.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.cpt202.dailyreadingtracker.ratelimit.RateLimitProperties.Limit;
+
+import jakarta.persistence.EntityManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs outside a test transaction so each call commits, as it does in production
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("perf")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DatabaseRateLimitStoreTest {
+
+    @Autowired
+    private RateLimitBucketRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private RateLimitProperties properties;
+    private Limit limit;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+
+        limit = new Limit();
+        limit.setCapacity(2);
+        limit.setRefillPeriod(Duration.ofMinutes(2));
+
+        properties = new RateLimitProperties();
+        properties.getLimits().put("test", limit);
+    }
+
+    // RLD_001
+    @Test
+    public void testNodesShareOneBucket() {
+        DatabaseRateLimitStore nodeA = store();
+        DatabaseRateLimitStore nodeB = store();
+
+        assertTrue(nodeA.tryConsume("test:ip:1.2.3.4", limit).allowed());
+        assertTrue(nodeB.tryConsume("test:ip:1.2.3.4", limit).allowed());
+        assertFalse(nodeA.tryConsume("test:ip:1.2.3.4", limit).allowed());
+        assertFalse(nodeB.tryConsume("test:ip:1.2.3.4", limit).allowed());
+
+        now.addAndGet(Duration.ofMinutes(1).toMillis());
+        assertTrue(nodeB.tryConsume("test:ip:1.2.3.4", limit).allowed());
+        assertEquals(1, repository.count());
+    }
+
+    // RLD_002
+    @Test
+    public void testIdleBucketsArePurged() {
+        DatabaseRateLimitStore store = store();
+        store.tryConsume("test:ip:idle", limit);
+
+        now.addAndGet(Duration.ofMinutes(3).toMillis());
+        for (int i = 1; i < DatabaseRateLimitStore.CLEANUP_INTERVAL; i++)
+            store.tryConsume("test:ip:busy", limit);
+
+        assertFalse(repository.existsById("test:ip:idle"));
+        assertTrue(repository.existsById("test:ip:busy"));
+    }
+
+    // RLD_003
+    @Test
+    public void testRefundReturnsOneTokenUpToCapacity() {
+        DatabaseRateLimitStore store = store();
+        store.tryConsume("test:ip:1.2.3.4", limit);
+        store.tryConsume("test:ip:1.2.3.4", limit);
+
+        store.refund("test:ip:1.2.3.4", limit);
+        store.refund("test:ip:1.2.3.4", limit);
+        store.refund("test:ip:1.2.3.4", limit);
+
+        assertTrue(store.tryConsume("test:ip:1.2.3.4", limit).allowed());
+        assertTrue(store.tryConsume("test:ip:1.2.3.4", limit).allowed());
+        assertFalse(store.tryConsume("test:ip:1.2.3.4", limit).allowed());
+    }
+
+    private DatabaseRateLimitStore store() {
+        return new DatabaseRateLimitStore(repository, entityManager, transactionManager, properties, now::get);
+    }
+}
@@ -0,0 +1,86 @@
+package com.cpt202.dailyreadingtracker.ratelimit;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.cpt202.dailyreadingtracker.ratelimit.RateLimitProperties.Limit;
+import com.cpt202.dailyreadingtracker.ratelimit.RateLimitStore.Decision;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryRateLimitStoreTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private Limit limit;
+    private InMemoryRateLimitStore store;
+
+    @BeforeEach
+    void setUp() {
+        limit = new Limit();
+        limit.setCapacity(3);
+        limit.setRefillPeriod(Duration.ofMinutes(3));
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getLimits().put("test", limit);
+        store = new InMemoryRateLimitStore(properties, registry, now::get);
+    }
+
+    // RLM_001
+    @Test
+    public void testBucketEmptiesAndRefillsOverTime() {
+        for (int i = 0; i < 3; i++)
+            assertTrue(store.tryConsume("test:ip:1.2.3.4", limit).allowed());
+
+        Decision rejected = store.tryConsume("test:ip:1.2.3.4", limit);
+        assertFalse(rejected.allowed());
+        assertEquals(Duration.ofMinutes(1), rejected.retryAfter());
+
+        now.addAndGet(Duration.ofMinutes(1).toMillis());
+        assertTrue(store.tryConsume("test:ip:1.2.3.4", limit).allowed());
+        assertFalse(store.tryConsume("test:ip:1.2.3.4", limit).allowed());
+    }
+
+    // RLM_002
+    @Test
+    public void testKeysHaveIndependentBuckets() {
+        for (int i = 0; i < 3; i++)
+            store.tryConsume("test:ip:1.2.3.4", limit);
+
+        assertFalse(store.tryConsume("test:ip:1.2.3.4", limit).allowed());
+        assertTrue(store.tryConsume("test:ip:5.6.7.8", limit).allowed());
+        assertEquals(2, registry.get("app.rate.limit.buckets").gauge().value());
+    }
+
+    // RLM_003
+    @Test
+    public void testConcurrentRequestsNeverOverdrawBucket() throws Exception {
+        limit.setCapacity(50);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Boolean>> calls = IntStream.range(0, 400)
+                .<Callable<Boolean>>mapToObj(i -> () -> store.tryConsume("test:user:reader", limit).allowed())
+                .toList();
+
+            long allowed = 0;
+            for (Future<Boolean> result : executor.invokeAll(calls))
+                if (result.get())
+                    allowed++;
+
+            assertEquals(50, allowed);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.cpt202.dailyreadingtracker.ratelimit;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import com.cpt202.dailyreadingtracker.ratelimit.RateLimitProperties.KeyType;
+import com.cpt202.dailyreadingtracker.ratelimit.RateLimitProperties.Limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitInterceptorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private RateLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        Limit limit = new Limit();
+        limit.setCapacity(2);
+        limit.setRefillPeriod(Duration.ofHours(1));
+        limit.setKeys(List.of(KeyType.EMAIL, KeyType.IP));
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getLimits().put("reset", limit);
+
+        interceptor = new RateLimitInterceptor(new InMemoryRateLimitStore(properties, registry), properties, registry);
+    }
+
+    // RLI_001
+    @Test
+    public void testRejectsWith429OnceEmailBucketIsEmpty() throws Exception {
+        assertEquals(200, handle("Reader@Example.com", "10.0.0.1").getStatus());
+        assertEquals(200, handle("reader@example.com ", "10.0.0.2").getStatus());
+
+        MockHttpServletResponse rejected = handle("reader@example.com", "10.0.0.3");
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1800", rejected.getHeader("Retry-After"));
+        assertEquals(1, registry.get("app.rate.limit.requests").tag("limiter", "reset").tag("outcome", "rejected")
+            .counter().count());
+    }
+
+    // RLI_002
+    @Test
+    public void testIpBucketLimitsRequestsAcrossEmails() throws Exception {
+        assertEquals(200, handle("a@example.com", "10.0.0.1").getStatus());
+        assertEquals(200, handle("b@example.com", "10.0.0.1").getStatus());
+
+        assertEquals(429, handle("c@example.com", "10.0.0.1").getStatus());
+        assertEquals(200, handle("c@example.com", "10.0.0.2").getStatus());
+    }
+
+    // RLI_003
+    @Test
+    public void testUnannotatedHandlerIsNotLimited() throws Exception {
+        HandlerMethod handler = new HandlerMethod(new Endpoints(), Endpoints.class.getMethod("unlimited"));
+
+        for (int i = 0; i < 5; i++)
+            assertTrue(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler));
+        assertTrue(registry.find("app.rate.limit.requests").counters().isEmpty());
+    }
+
+    // RLI_004
+    @Test
+    public void testRejectedRequestDoesNotDrainOtherBuckets() throws Exception {
+        assertEquals(200, handle("a@example.com", "10.0.0.1").getStatus());
+        assertEquals(200, handle("b@example.com", "10.0.0.1").getStatus());
+
+        for (int i = 0; i < 5; i++)
+            assertEquals(429, handle("victim@example.com", "10.0.0.1").getStatus());
+
+        assertEquals(200, handle("victim@example.com", "10.0.0.2").getStatus());
+        assertEquals(200, handle("victim@example.com", "10.0.0.3").getStatus());
+        assertEquals(429, handle("victim@example.com", "10.0.0.4").getStatus());
+    }
+
+    private MockHttpServletResponse handle(String email, String ip) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/forgot-password");
+        request.setParameter("email", email);
+        request.setRemoteAddr(ip);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, new HandlerMethod(new Endpoints(), Endpoints.class.getMethod("limited")));
+
+        return response;
+    }
+
+    static class Endpoints {
+
+        @RateLimited("reset")
+        public void limited() {
+        }
+
+        public void unlimited() {
+        }
+    }
+}
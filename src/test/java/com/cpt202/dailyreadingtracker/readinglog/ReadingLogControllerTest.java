@@ -1,6 +1,7 @@
 package com.cpt202.dailyreadingtracker.readinglog;
 
 import java.security.Principal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -174,4 +175,21 @@ class ReadingLogControllerTest {
         assertThrows(SecurityException.class, () ->
                 controller.getLogById(1L, unknownPrincipal));
     }
+
+    // RLC_010
+    @Test
+    public void testGetChangesSince() throws Exception {
+        ReadingLogChangesDto changes = new ReadingLogChangesDto(List.of(testLog), List.of(5L), null);
+
+        when(readingLogService.getUserIdFromPrincipal(mockPrincipal)).thenReturn(testUserId);
+        when(readingLogService.getChangesSince(testUserId, LocalDateTime.of(2025, 1, 1, 10, 0)))
+                .thenReturn(changes);
+
+        mockMvc.perform(get("/api/reading-logs/changes")
+                        .param("since", "2025-01-01T10:00:00")
+                        .principal(mockPrincipal))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.upserts[0].id").value(1))
+                .andExpect(jsonPath("$.deletedIds[0]").value(5));
+    }
 }
@@ -1,8 +1,10 @@
 package com.cpt202.dailyreadingtracker.readinglog;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 
+import com.cpt202.dailyreadingtracker.admin.AdminEventService;
 import com.cpt202.dailyreadingtracker.utils.EmailService;
 import com.cpt202.dailyreadingtracker.violationlog.ViolationLogRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -33,6 +35,9 @@ class ReadingLogServiceTest {
     @Mock
     private ReadingLogRepository readingLogRepository;
 
+    @Mock
+    private ReadingLogTombstoneRepository tombstoneRepository;
+
     @Mock
     private UserRepository userRepository;
 
@@ -42,6 +47,9 @@ class ReadingLogServiceTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private AdminEventService adminEventService;
+
     @InjectMocks
     private ReadingLogService readingLogService;
 
@@ -255,4 +263,47 @@ class ReadingLogServiceTest {
 
         assertNotNull(result);
     }
+
+    // RLS_013
+    @Test
+    public void testGetChangesSinceWithoutCursor() {
+        when(readingLogRepository.findByUserId(1L)).thenReturn(List.of(testLog));
+
+        ReadingLogChangesDto result = readingLogService.getChangesSince(1L, null);
+
+        assertEquals(List.of(testLog), result.getUpserts());
+        assertTrue(result.getDeletedIds().isEmpty());
+        assertNotNull(result.getSyncedAt());
+        verify(tombstoneRepository, never()).findByUserIdAndDeletedAtAfter(anyLong(), any());
+    }
+
+    // RLS_014
+    @Test
+    public void testGetChangesSinceWithCursor() {
+        LocalDateTime since = LocalDateTime.now().minusHours(1);
+        ReadingLogTombstone tombstone = new ReadingLogTombstone(null, 7L, 1L, LocalDateTime.now());
+
+        when(readingLogRepository.findByUserIdAndUpdatedAtAfter(eq(1L), any(LocalDateTime.class)))
+                .thenReturn(List.of(testLog));
+        when(tombstoneRepository.findByUserIdAndDeletedAtAfter(eq(1L), any(LocalDateTime.class)))
+                .thenReturn(List.of(tombstone, tombstone));
+
+        ReadingLogChangesDto result = readingLogService.getChangesSince(1L, since);
+
+        assertEquals(List.of(testLog), result.getUpserts());
+        assertEquals(List.of(7L), result.getDeletedIds());
+        assertTrue(result.getSyncedAt().isAfter(since));
+    }
+
+    // RLS_015
+    @Test
+    public void testDeleteLogRecordsTombstone() {
+        when(readingLogRepository.findById(1L)).thenReturn(Optional.of(testLog));
+        when(userRepository.findById(Long.valueOf(1L))).thenReturn(Optional.of(testUser));
+
+        readingLogService.deleteLog(1L, 1L);
+
+        verify(tombstoneRepository).save(argThat(t -> t.getLogId().equals(1L) && t.getUserId().equals(1L)));
+        verify(adminEventService).publishLogDeleted(1L);
+    }
 }
@@ -9,8 +9,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import java.security.Principal;
 import java.time.LocalDate;
 import java.util.Collections;
@@ -30,6 +33,9 @@ class ReadingStatisticsServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private StatisticsRequestCoalescer requestCoalescer = new StatisticsRequestCoalescer(new SimpleMeterRegistry());
+
     @InjectMocks
     private ReadingStatisticsService readingStatisticsService;
 
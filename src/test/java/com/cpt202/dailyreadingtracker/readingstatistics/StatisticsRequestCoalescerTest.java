@@ -0,0 +1,151 @@
+package com.cpt202.dailyreadingtracker.readingstatistics;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatisticsRequestCoalescerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private StatisticsRequestCoalescer coalescer;
+    private ExecutorService executor;
+
+    private final LocalDate startDate = LocalDate.of(2025, 1, 1);
+    private final LocalDate endDate = LocalDate.of(2025, 1, 31);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new StatisticsRequestCoalescer(meterRegistry);
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // SRC_001
+    @Test
+    public void testConcurrentIdenticalRequestsShareOneComputation() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+
+        Future<Map<String, Object>> first = executor.submit(() -> coalescer.execute(1L, startDate, endDate, () -> {
+            computations.incrementAndGet();
+            started.countDown();
+            await(release);
+            return Map.of("bookCount", 2);
+        }));
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        Future<Map<String, Object>> second = executor.submit(() -> coalescer.execute(1L, startDate, endDate, () -> {
+            computations.incrementAndGet();
+            return Map.of("bookCount", -1);
+        }));
+
+        waitForCoalescedCount(1);
+        release.countDown();
+
+        assertEquals(2, first.get(5, TimeUnit.SECONDS).get("bookCount"));
+        assertEquals(2, second.get(5, TimeUnit.SECONDS).get("bookCount"));
+        assertEquals(1, computations.get());
+        assertEquals(1.0, meterRegistry.get("reading.statistics.requests").tag("outcome", "computed").counter().count());
+    }
+
+    // SRC_002
+    @Test
+    public void testDifferentKeysComputeSeparately() {
+        AtomicInteger computations = new AtomicInteger();
+
+        coalescer.execute(1L, startDate, endDate, () -> Map.of("user", computations.incrementAndGet()));
+        coalescer.execute(2L, startDate, endDate, () -> Map.of("user", computations.incrementAndGet()));
+        coalescer.execute(1L, null, null, () -> Map.of("user", computations.incrementAndGet()));
+
+        assertEquals(3, computations.get());
+        assertEquals(0.0, meterRegistry.get("reading.statistics.requests").tag("outcome", "coalesced").counter().count());
+    }
+
+    // SRC_003
+    @Test
+    public void testSequentialRequestsAreNotCached() {
+        AtomicInteger computations = new AtomicInteger();
+
+        coalescer.execute(1L, startDate, endDate, () -> Map.of("run", computations.incrementAndGet()));
+        Map<String, Object> result = coalescer.execute(1L, startDate, endDate,
+                () -> Map.of("run", computations.incrementAndGet()));
+
+        assertEquals(2, result.get("run"));
+    }
+
+    // SRC_004
+    @Test
+    public void testFailureIsPropagatedAndNotRetained() {
+        assertThrows(IllegalArgumentException.class, () -> coalescer.execute(1L, startDate, endDate, () -> {
+            throw new IllegalArgumentException("Start date cannot be after end date");
+        }));
+
+        Map<String, Object> result = coalescer.execute(1L, startDate, endDate, () -> Map.of("bookCount", 1));
+
+        assertEquals(1, result.get("bookCount"));
+        assertEquals(0.0, meterRegistry.get("reading.statistics.in.flight").gauge().value());
+    }
+
+    // SRC_005
+    @Test
+    public void testErrorInComputationReleasesWaiters() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Map<String, Object>> first = executor.submit(() -> coalescer.execute(1L, startDate, endDate, () -> {
+            started.countDown();
+            await(release);
+            throw new StackOverflowError();
+        }));
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<Map<String, Object>> second = executor.submit(() -> coalescer.execute(1L, startDate, endDate,
+                () -> Map.of("bookCount", -1)));
+
+        waitForCoalescedCount(1);
+        release.countDown();
+
+        ExecutionException firstFailure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        ExecutionException secondFailure = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(StackOverflowError.class, firstFailure.getCause());
+        assertInstanceOf(StackOverflowError.class, secondFailure.getCause());
+    }
+
+    private void waitForCoalescedCount(double expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("reading.statistics.requests").tag("outcome", "coalesced").counter().count() < expected) {
+            if (System.currentTimeMillis() > deadline)
+                fail("Second request never joined the in-flight computation");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.cpt202.dailyreadingtracker.security;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.cpt202.dailyreadingtracker.auth.ApiTokenService;
+import com.cpt202.dailyreadingtracker.utils.JWTTokenUtil;
+
+import jakarta.servlet.FilterChain;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiTokenAuthenticationFilterTest {
+
+    private JWTTokenUtil jwtTokenUtil;
+    private ApiTokenAuthenticationFilter filter;
+    private AtomicReference<Authentication> seenAuthentication;
+    private FilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenUtil = new JWTTokenUtil();
+        ReflectionTestUtils.setField(jwtTokenUtil, "secretString", "test-secret-key-that-is-at-least-256-bits-long");
+        ReflectionTestUtils.setField(jwtTokenUtil, "expirationMs", 900000L);
+        jwtTokenUtil.init();
+
+        filter = new ApiTokenAuthenticationFilter(jwtTokenUtil);
+        seenAuthentication = new AtomicReference<>();
+        chain = (request, response) -> seenAuthentication.set(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // ATF_001
+    @Test
+    public void testAccessTokenAuthenticatesRequest() throws Exception {
+        String token = jwtTokenUtil.generateToken("reader@example.com",
+            Map.of(ApiTokenService.TOKEN_TYPE_CLAIM, ApiTokenService.ACCESS_TOKEN,
+                   ApiTokenService.ROLES_CLAIM, List.of("ROLE_USER")), Duration.ofMinutes(5));
+
+        MockHttpServletResponse response = filter(token);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("reader@example.com", seenAuthentication.get().getName());
+        assertEquals(List.of("ROLE_USER"),
+            seenAuthentication.get().getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    // ATF_002
+    @Test
+    public void testEmailLinkTokenIsRejected() throws Exception {
+        MockHttpServletResponse response = filter(jwtTokenUtil.generateToken("reader@example.com"));
+
+        assertEquals(401, response.getStatus());
+        assertNull(seenAuthentication.get());
+    }
+
+    // ATF_003
+    @Test
+    public void testRequestWithoutBearerTokenPassesThrough() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/reading-logs"), response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertNull(seenAuthentication.get());
+    }
+
+    private MockHttpServletResponse filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/reading-logs");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+
+        return response;
+    }
+}
@@ -0,0 +1,115 @@
+package com.cpt202.dailyreadingtracker.security;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.cpt202.dailyreadingtracker.security.BoundedPasswordEncoder.PasswordHashingBusyException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null)
+            encoder.destroy();
+    }
+
+    // BPE_001
+    @Test
+    public void testHashesOnPoolAndRecordsTimings() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 4, Duration.ofSeconds(5), registry);
+
+        String hash = encoder.encode("Password123");
+
+        assertTrue(encoder.matches("Password123", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertEquals(1, registry.get("app.password.hashing").tag("operation", "encode").timer().count());
+        assertEquals(2, registry.get("app.password.hashing").tag("operation", "matches").timer().count());
+    }
+
+    // BPE_002
+    @Test
+    public void testShedsWhenPoolAndQueueAreFull() throws Exception {
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(blockingEncoder(hashing, release), 1, 1, Duration.ofSeconds(5), registry);
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            callers.submit(() -> encoder.encode("first"));
+            assertTrue(hashing.await(5, TimeUnit.SECONDS));
+            callers.submit(() -> encoder.encode("queued"));
+            waitForQueuedTask();
+
+            assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("shed"));
+            assertEquals(1, registry.get("app.password.hashing.rejected").tag("reason", "queue-full").counter().count());
+        } finally {
+            release.countDown();
+            callers.shutdown();
+        }
+    }
+
+    // BPE_003
+    @Test
+    public void testShedsCallsThatWaitTooLong() throws Exception {
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(blockingEncoder(hashing, release), 1, 4, Duration.ofMillis(100), registry);
+
+        try {
+            assertThrows(PasswordHashingBusyException.class, () -> encoder.matches("slow", "hash"));
+            assertEquals(1, registry.get("app.password.hashing.rejected").tag("reason", "timeout").counter().count());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private void waitForQueuedTask() throws InterruptedException {
+        double queued = 0;
+        for (int attempt = 0; attempt < 100 && queued < 1; attempt++) {
+            Thread.sleep(10);
+            queued = registry.get("executor.queued").tag("name", "password.hashing").gauge().value();
+        }
+        assertEquals(1, queued);
+    }
+
+    private static PasswordEncoder blockingEncoder(CountDownLatch hashing, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashing.countDown();
+                await(release);
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                hashing.countDown();
+                await(release);
+                return true;
+            }
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.cpt202.dailyreadingtracker.security;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.cpt202.dailyreadingtracker.role.Role;
+import com.cpt202.dailyreadingtracker.security.CustomUserDetailsService.AccountFrozenException;
+import com.cpt202.dailyreadingtracker.user.User;
+import com.cpt202.dailyreadingtracker.user.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private AuthenticationUserCache userCache;
+    private CustomUserDetailsService userDetailsService;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        userCache = new AuthenticationUserCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+        userDetailsService = new CustomUserDetailsService(userRepository, userCache);
+
+        testUser = new User();
+        testUser.setEmail("reader@example.com");
+        testUser.setPassword("encodedPassword");
+        testUser.setEnabled(true);
+        testUser.setRoles(Set.of(new Role("ROLE_USER")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // CUD_001
+    @Test
+    public void testRepeatedLoginsReadTheUserOnce() {
+        when(userRepository.findByEmail("reader@example.com")).thenReturn(Optional.of(testUser));
+
+        UserDetails first = userDetailsService.loadUserByUsername("reader@example.com");
+        ((CredentialsContainer) first).eraseCredentials();
+        UserDetails second = userDetailsService.loadUserByUsername("reader@example.com");
+
+        verify(userRepository, times(1)).findByEmail("reader@example.com");
+        assertEquals("encodedPassword", second.getPassword(), "Erasing a returned copy must not touch the cache");
+        assertEquals("ROLE_USER", second.getAuthorities().iterator().next().getAuthority());
+    }
+
+    // CUD_002
+    @Test
+    public void testEvictionReloadsTheUser() {
+        when(userRepository.findByEmail("reader@example.com")).thenReturn(Optional.of(testUser));
+        userDetailsService.loadUserByUsername("reader@example.com");
+
+        testUser.freezeUser();
+        userCache.removeUserFromCache("reader@example.com");
+
+        assertThrows(AccountFrozenException.class, () -> userDetailsService.loadUserByUsername("reader@example.com"));
+        assertThrows(AccountFrozenException.class, () -> userDetailsService.loadUserByUsername("reader@example.com"));
+        verify(userRepository, times(3)).findByEmail("reader@example.com");
+    }
+
+    // CUD_003
+    @Test
+    public void testEvictionInsideTransactionIsRepeatedAfterCommit() {
+        when(userRepository.findByEmail("reader@example.com")).thenReturn(Optional.of(testUser));
+        TransactionSynchronizationManager.initSynchronization();
+
+        userCache.removeUserFromCache("reader@example.com");
+        // A login racing the transaction caches the state about to be replaced
+        userDetailsService.loadUserByUsername("reader@example.com");
+        assertNotNull(userCache.getUserFromCache("reader@example.com"));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertNull(userCache.getUserFromCache("reader@example.com"));
+    }
+
+    // CUD_004
+    @Test
+    public void testConcurrentMissesShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.findByEmail("reader@example.com")).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(testUser);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<UserDetails>> logins = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                logins.add(executor.submit(() -> userDetailsService.loadUserByUsername("reader@example.com")));
+            }
+
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            release.countDown();
+
+            for (Future<UserDetails> login : logins) {
+                assertEquals("reader@example.com", login.get(5, TimeUnit.SECONDS).getUsername());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(userRepository, times(1)).findByEmail("reader@example.com");
+    }
+
+    // CUD_005
+    @Test
+    public void testLoginRehashesPasswordStoredWithLowerStrength() {
+        testUser.setPassword(new BCryptPasswordEncoder(4).encode("Password123"));
+        when(userRepository.findByEmail("reader@example.com")).thenReturn(Optional.of(testUser));
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+        provider.setPasswordEncoder(new BCryptPasswordEncoder(5));
+        provider.setUserDetailsPasswordService(userDetailsService);
+
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("reader@example.com", "Password123"));
+
+        assertTrue(testUser.getPassword().startsWith("$2a$05$"), testUser.getPassword());
+        verify(userRepository).save(testUser);
+        assertNull(userCache.getUserFromCache("reader@example.com"));
+    }
+}
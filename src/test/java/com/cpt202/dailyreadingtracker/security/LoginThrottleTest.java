@@ -0,0 +1,106 @@
+package com.cpt202.dailyreadingtracker.security;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.cpt202.dailyreadingtracker.security.LoginThrottle.LoginThrottledException;
+import com.cpt202.dailyreadingtracker.security.LoginThrottle.Settings;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoginThrottleTest {
+
+    @Mock
+    private LoginBlockRepository loginBlockRepository;
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    // LTH_001
+    @Test
+    public void testAccountIsBlockedWithDoublingDelay() {
+        LoginThrottle throttle = throttle(false);
+
+        for (int i = 0; i < 2; i++)
+            throttle.loginFailed("Reader@Example.com", "10.0.0." + i);
+        throttle.checkAllowed("reader@example.com", "10.0.0.9");
+
+        throttle.loginFailed("reader@example.com", "10.0.0.3");
+        LoginThrottledException first = assertThrows(LoginThrottledException.class,
+            () -> throttle.checkAllowed("reader@example.com", "10.0.0.9"));
+        assertEquals(2, first.getRetryAfterSeconds());
+
+        now.addAndGet(2_000);
+        throttle.checkAllowed("reader@example.com", "10.0.0.9");
+        throttle.loginFailed("reader@example.com", "10.0.0.4");
+        LoginThrottledException second = assertThrows(LoginThrottledException.class,
+            () -> throttle.checkAllowed("reader@example.com", "10.0.0.9"));
+        assertEquals(4, second.getRetryAfterSeconds());
+
+        assertEquals(2, registry.get("app.login.throttle.blocks").tag("scope", "account").counter().count());
+        assertEquals(2, registry.get("app.login.throttle.rejected").counter().count());
+        verifyNoInteractions(loginBlockRepository);
+    }
+
+    // LTH_002
+    @Test
+    public void testFailuresDecayAndSuccessClearsAccount() {
+        LoginThrottle throttle = throttle(false);
+
+        throttle.loginFailed("reader@example.com", "10.0.0.1");
+        throttle.loginFailed("reader@example.com", "10.0.0.1");
+        now.addAndGet(Duration.ofMinutes(45).toMillis());
+        throttle.loginFailed("reader@example.com", "10.0.0.1");
+        throttle.checkAllowed("reader@example.com", "10.0.0.1");
+
+        throttle.loginFailed("reader@example.com", "10.0.0.1");
+        throttle.loginSucceeded("reader@example.com");
+        throttle.loginFailed("reader@example.com", "10.0.0.1");
+        throttle.checkAllowed("reader@example.com", "10.0.0.1");
+    }
+
+    // LTH_003
+    @Test
+    public void testAddressIsBlockedAcrossAccounts() {
+        LoginThrottle throttle = throttle(false);
+
+        for (int i = 0; i < 5; i++)
+            throttle.loginFailed("user" + i + "@example.com", "10.0.0.1");
+
+        assertThrows(LoginThrottledException.class, () -> throttle.checkAllowed("other@example.com", "10.0.0.1"));
+        throttle.checkAllowed("other@example.com", "10.0.0.2");
+    }
+
+    // LTH_004
+    @Test
+    public void testSharedBlocksAreWrittenAndHonoured() {
+        LoginThrottle nodeA = throttle(true);
+        for (int i = 0; i < 3; i++)
+            nodeA.loginFailed("reader@example.com", null);
+        verify(loginBlockRepository).save(argThat(block ->
+            block.getThrottleKey().equals("account:reader@example.com") && block.getBlockedUntil() == now.get() + 2_000));
+
+        LoginThrottle nodeB = throttle(true);
+        when(loginBlockRepository.findAllById(List.of("account:reader@example.com", "ip:10.0.0.1")))
+            .thenReturn(List.of(new LoginBlock("account:reader@example.com", now.get() + 2_000)));
+
+        assertThrows(LoginThrottledException.class, () -> nodeB.checkAllowed("reader@example.com", "10.0.0.1"));
+    }
+
+    private LoginThrottle throttle(boolean shared) {
+        Settings settings = new Settings(3, 5, Duration.ofSeconds(2), Duration.ofMinutes(15), Duration.ofMinutes(15),
+            1_000, shared);
+        return new LoginThrottle(loginBlockRepository, registry, now::get, settings);
+    }
+}
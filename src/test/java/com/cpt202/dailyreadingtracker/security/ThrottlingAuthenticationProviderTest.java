@@ -0,0 +1,66 @@
+package com.cpt202.dailyreadingtracker.security;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import com.cpt202.dailyreadingtracker.security.LoginThrottle.LoginThrottledException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ThrottlingAuthenticationProviderTest {
+
+    @Mock
+    private AuthenticationProvider delegate;
+
+    @Mock
+    private LoginThrottle loginThrottle;
+
+    // TAP_001
+    @Test
+    public void testBlockedLoginNeverReachesDelegate() {
+        ThrottlingAuthenticationProvider provider = new ThrottlingAuthenticationProvider(delegate, loginThrottle);
+        doThrow(new LoginThrottledException(Duration.ofSeconds(2))).when(loginThrottle).checkAllowed("reader@example.com", "10.0.0.1");
+
+        assertThrows(LoginThrottledException.class, () -> provider.authenticate(login()));
+
+        verifyNoInteractions(delegate);
+        verify(loginThrottle, never()).loginFailed(any(), any());
+    }
+
+    // TAP_002
+    @Test
+    public void testBadCredentialsAreRecordedAndSuccessClears() {
+        ThrottlingAuthenticationProvider provider = new ThrottlingAuthenticationProvider(delegate, loginThrottle);
+        UsernamePasswordAuthenticationToken login = login();
+        when(delegate.authenticate(login))
+            .thenThrow(new BadCredentialsException("Bad credentials"))
+            .thenReturn(UsernamePasswordAuthenticationToken.authenticated("reader@example.com", null, null));
+
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(login));
+        verify(loginThrottle).loginFailed("reader@example.com", "10.0.0.1");
+
+        assertNotNull(provider.authenticate(login));
+        verify(loginThrottle).loginSucceeded("reader@example.com");
+    }
+
+    private static UsernamePasswordAuthenticationToken login() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        UsernamePasswordAuthenticationToken login =
+            UsernamePasswordAuthenticationToken.unauthenticated("reader@example.com", "Password123");
+        login.setDetails(new WebAuthenticationDetails(request));
+        return login;
+    }
+}
@@ -0,0 +1,127 @@
+package com.cpt202.dailyreadingtracker.seed;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SyntheticDataGeneratorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private SyntheticDataGenerator generator;
+    private Map<String, List<Object[]>> rowsByTable;
+
+    @BeforeEach
+    void setUp() {
+        generator = new SyntheticDataGenerator(jdbcTemplate, transactionManager, passwordEncoder);
+        rowsByTable = new HashMap<>();
+
+        when(passwordEncoder.encode("Password123")).thenReturn("hash");
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), anyString())).thenReturn(List.of(1L));
+        when(jdbcTemplate.queryForObject(startsWith("SELECT MAX(id)"), eq(Long.class))).thenReturn(null);
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+            .thenAnswer(invocation -> {
+                String table = invocation.<String>getArgument(0).split(" ")[2];
+                Collection<Object[]> rows = invocation.getArgument(1);
+                rowsByTable.computeIfAbsent(table, key -> new ArrayList<>()).addAll(rows);
+                return new int[0][];
+            });
+    }
+
+    private SeedProperties settings() {
+        SeedProperties settings = new SeedProperties();
+        settings.setUsers(50);
+        settings.setMeanLogsPerUser(20);
+        settings.setBooks(30);
+        settings.setBatchSize(100);
+        return settings;
+    }
+
+    // SDG_001
+    @Test
+    public void testSameSeedProducesSameData() {
+        SyntheticDataGenerator.Summary first = generator.generate(settings());
+        List<Object[]> firstLogs = new ArrayList<>(rowsByTable.get("reading_logs"));
+
+        rowsByTable.clear();
+        SyntheticDataGenerator.Summary second = generator.generate(settings());
+        List<Object[]> secondLogs = rowsByTable.get("reading_logs");
+
+        assertEquals(first, second);
+        assertEquals(50, first.getUsers());
+        assertEquals(firstLogs.size(), secondLogs.size());
+        for (int i = 0; i < firstLogs.size(); i++) {
+            assertArrayEquals(firstLogs.get(i), secondLogs.get(i));
+        }
+    }
+
+    // SDG_002
+    @Test
+    public void testVersionChainsLinkToEarlierLogsOfSameBook() {
+        generator.generate(settings());
+
+        Map<Object, Object[]> logsById = new HashMap<>();
+        for (Object[] log : rowsByTable.get("reading_logs")) {
+            logsById.put(log[0], log);
+        }
+
+        long chained = 0;
+        for (Object[] log : logsById.values()) {
+            Object previousId = log[11];
+            if (previousId == null) {
+                continue;
+            }
+
+            Object[] previous = logsById.get(previousId);
+            assertNotNull(previous);
+            assertEquals(previous[1], log[1]);
+            assertEquals(previous[2], log[2]);
+            assertEquals(false, previous[12]);
+            assertTrue((Integer) log[6] >= (Integer) previous[6]);
+            chained++;
+        }
+
+        assertTrue(chained > 0);
+    }
+
+    // SDG_003
+    @Test
+    public void testFrozenRatioAndViolationsAreApplied() {
+        SeedProperties settings = settings();
+        settings.setFrozenRatio(1);
+        settings.setViolationRatio(0.5);
+
+        SyntheticDataGenerator.Summary summary = generator.generate(settings);
+
+        assertEquals(49, summary.getFrozenUsers());
+        assertTrue(summary.getViolationLogs() > 0);
+        assertEquals(summary.getViolationLogs(), rowsByTable.get("violation_log").size());
+
+        long flagged = rowsByTable.get("users").stream().mapToLong(user -> (Integer) user[6]).sum();
+        assertEquals(summary.getViolationLogs(), flagged);
+    }
+}
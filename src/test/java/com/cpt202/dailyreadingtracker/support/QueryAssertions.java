@@ -0,0 +1,50 @@
+package com.cpt202.dailyreadingtracker.support;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.cpt202.dailyreadingtracker.config.QueryCounter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Assertions on the number of JDBC statements a test executes, for catching N+1 regressions.
+ * Requires the DataSource to be wrapped by {@code DataSourceProxyConfig}, e.g. with
+ * {@code @Import(DataSourceProxyConfig.class)} on a {@code @DataJpaTest}.
+ * <pre>
+ * resetQueryCount();
+ * administrationService.promoteUsersToAdmin(ids);
+ * entityManager.flush();
+ * assertMaxQueries(5);
+ * </pre>
+ * Call {@link #stopQueryCount()} after the test so the count does not leak into later tests on the same thread.
+ */
+
+public final class QueryAssertions {
+
+    private QueryAssertions() {}
+
+    public static void resetQueryCount() {
+        QueryCounter.start();
+    }
+
+    public static void stopQueryCount() {
+        QueryCounter.stop();
+    }
+
+    public static int queryCount() {
+        return QueryCounter.current().getQueries();
+    }
+
+    public static void assertMaxQueries(int max) {
+        QueryCounter.Stats stats = QueryCounter.current();
+
+        if (stats.getQueries() > max) {
+            String statements = stats.getExecutionsBySql().entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                    .map(entry -> entry.getValue() + "x " + entry.getKey())
+                    .collect(Collectors.joining("\n"));
+            fail("Expected at most " + max + " queries but " + stats.getQueries() + " were executed:\n" + statements);
+        }
+    }
+}
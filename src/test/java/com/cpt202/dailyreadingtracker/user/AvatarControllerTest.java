@@ -0,0 +1,158 @@
+package com.cpt202.dailyreadingtracker.user;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.cpt202.dailyreadingtracker.utils.FileStorageService;
+import com.cpt202.dailyreadingtracker.utils.FileStorageService.InvalidAvatarNameException;
+import com.cpt202.dailyreadingtracker.utils.FileStorageService.StoredAvatar;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AvatarControllerTest {
+
+    private static final String FILENAME = "3fa1-256.png";
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private FileStorageService fileStorageService;
+
+    @InjectMocks
+    private AvatarController avatarController;
+
+    private byte[] content;
+    private StoredAvatar avatar;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        content = new byte[100 * 1024];
+        new Random(1).nextBytes(content);
+        Path file = tempDir.resolve(FILENAME);
+        Files.write(file, content);
+        avatar = new StoredAvatar(file, content.length, 1_700_000_000_000L, null);
+    }
+
+    // AC_001
+    @Test
+    public void testServesWholeFileWithImmutableCaching() throws Exception {
+        when(fileStorageService.openAvatar(FILENAME)).thenReturn(avatar);
+
+        MockHttpServletResponse response = serve(request());
+
+        assertEquals(200, response.getStatus());
+        assertArrayEquals(content, response.getContentAsByteArray());
+        assertEquals("image/png", response.getContentType());
+        assertEquals("\"" + FILENAME + "\"", response.getHeader("ETag"));
+        assertEquals("max-age=31536000, public, immutable", response.getHeader("Cache-Control"));
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+    }
+
+    // AC_002
+    @Test
+    public void testConditionalRequestsAreAnsweredWithNotModified() throws Exception {
+        when(fileStorageService.openAvatar(FILENAME)).thenReturn(avatar);
+
+        MockHttpServletRequest byEtag = request();
+        byEtag.addHeader("If-None-Match", "\"" + FILENAME + "\"");
+        MockHttpServletRequest byDate = request();
+        byDate.addHeader("If-Modified-Since", avatar.lastModified());
+
+        for (MockHttpServletRequest request : new MockHttpServletRequest[] { byEtag, byDate }) {
+            MockHttpServletResponse response = serve(request);
+            assertEquals(304, response.getStatus());
+            assertEquals(0, response.getContentAsByteArray().length);
+        }
+    }
+
+    // AC_003
+    @Test
+    public void testServesSingleRangeAndRejectsUnsatisfiableRange() throws Exception {
+        when(fileStorageService.openAvatar(FILENAME)).thenReturn(avatar);
+
+        MockHttpServletRequest ranged = request();
+        ranged.addHeader("Range", "bytes=100-199");
+        MockHttpServletResponse partial = serve(ranged);
+
+        assertEquals(206, partial.getStatus());
+        assertEquals("bytes 100-199/" + content.length, partial.getHeader("Content-Range"));
+        assertArrayEquals(Arrays.copyOfRange(content, 100, 200), partial.getContentAsByteArray());
+
+        MockHttpServletRequest outside = request();
+        outside.addHeader("Range", "bytes=" + content.length + "-");
+        MockHttpServletResponse unsatisfiable = serve(outside);
+
+        assertEquals(416, unsatisfiable.getStatus());
+        assertEquals("bytes */" + content.length, unsatisfiable.getHeader("Content-Range"));
+    }
+
+    // AC_004
+    @Test
+    public void testHandsLargeFilesToSendfileWhenSupported() throws Exception {
+        when(fileStorageService.openAvatar(FILENAME)).thenReturn(avatar);
+        MockHttpServletRequest request = request();
+        request.setAttribute(AvatarController.SENDFILE_SUPPORTED, Boolean.TRUE);
+
+        MockHttpServletResponse response = serve(request);
+
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(content.length, response.getContentLengthLong());
+        assertEquals(avatar.path().toString(), request.getAttribute(AvatarController.SENDFILE_FILENAME));
+        assertEquals(0L, request.getAttribute(AvatarController.SENDFILE_START));
+        assertEquals((long) content.length, request.getAttribute(AvatarController.SENDFILE_END));
+    }
+
+    // AC_005
+    @Test
+    public void testMissingAvatarIsNotFound() throws Exception {
+        when(fileStorageService.openAvatar(FILENAME)).thenReturn(null);
+
+        assertEquals(404, serve(request()).getStatus());
+    }
+
+    // AC_006
+    @Test
+    public void testRejectedNameIsNotFound() throws Exception {
+        when(fileStorageService.openAvatar(FILENAME))
+                .thenThrow(new InvalidAvatarNameException("Attempted path traversal attack"));
+
+        assertEquals(404, serve(request()).getStatus());
+    }
+
+    // AC_007
+    @Test
+    public void testReadFailureIsServerError() throws Exception {
+        when(fileStorageService.openAvatar(FILENAME)).thenThrow(new IOException("Input/output error"));
+
+        MockHttpServletResponse response = serve(request());
+
+        assertEquals(500, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/uploads/" + FILENAME);
+    }
+
+    private MockHttpServletResponse serve(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        avatarController.serveAvatar(FILENAME, request, response);
+        return response;
+    }
+}
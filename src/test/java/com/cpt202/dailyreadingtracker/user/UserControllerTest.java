@@ -2,26 +2,34 @@ package com.cpt202.dailyreadingtracker.user;
 
 import com.cpt202.dailyreadingtracker.utils.FileStorageService;
 import com.cpt202.dailyreadingtracker.utils.EmailService;
+import com.cpt202.dailyreadingtracker.utils.UploadInputStream.UploadRejectedException;
 import com.cpt202.dailyreadingtracker.violationlog.ViolationLogRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.ui.Model;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
 import java.util.Map;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
@@ -44,6 +52,9 @@ class UserControllerTest {
     @Mock
     private ViolationLogRepository violationLogRepository;
 
+    @Mock
+    private UserCache userCache;
+
     @Mock
     private Model model;
 
@@ -67,6 +78,7 @@ class UserControllerTest {
         testUser.setEnabled(true);
 
         ReflectionTestUtils.setField(userController, "host", "http://localhost:8080");
+        ReflectionTestUtils.setField(userController, "maxRequestSize", DataSize.ofMegabytes(6));
     }
 
     // UC_001
@@ -110,42 +122,49 @@ class UserControllerTest {
     // UC_004
     @Test
     public void testUpdateAvatarWithValidFile() throws IOException {
-        MultipartFile mockFile = mock(MultipartFile.class);
-        when(mockFile.isEmpty()).thenReturn(false);
-        when(mockFile.getContentType()).thenReturn("image/jpeg");
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(fileStorageService.storeAvatar(any(), any())).thenReturn("new-avatar.jpg");
+        byte[] image = "test-image".getBytes(StandardCharsets.UTF_8);
+        when(userRepository.findById(Long.valueOf(1L))).thenReturn(Optional.of(testUser));
+        when(fileStorageService.storeAvatar(any(InputStream.class), eq(testUsername))).thenAnswer(invocation -> {
+            assertArrayEquals(image, invocation.<InputStream>getArgument(0).readAllBytes());
+            return "new-avatar.jpg";
+        });
+        testUser.setAvatarFileName("old-avatar.jpg");
 
-        ResponseEntity<?> response = userController.updateAvatar(1L, mockFile);
+        ResponseEntity<?> response = userController.updateAvatar(1L, avatarUpload(image));
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(fileStorageService).storeAvatar(mockFile, testUsername);
-        verify(userRepository).save(testUser);
+
+        // The old file is released only after the user stops referring to it
+        InOrder inOrder = inOrder(userRepository, fileStorageService);
+        inOrder.verify(userRepository).save(testUser);
+        inOrder.verify(fileStorageService).deleteAvatar("old-avatar.jpg");
     }
 
     // UC_005
     @Test
-    public void testUpdateAvatarWithEmptyFile() {
-        MultipartFile mockFile = mock(MultipartFile.class);
-        when(mockFile.isEmpty()).thenReturn(true);
+    public void testUpdateAvatarWithEmptyFile() throws IOException {
+        when(userRepository.findById(Long.valueOf(1L))).thenReturn(Optional.of(testUser));
+        when(fileStorageService.storeAvatar(any(InputStream.class), eq(testUsername))).thenReturn(null);
 
-        ResponseEntity<?> response = userController.updateAvatar(1L, mockFile);
+        ResponseEntity<?> response = userController.updateAvatar(1L, avatarUpload(new byte[0]));
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertEquals("File is empty", response.getBody());
+        verify(userRepository, never()).save(any());
     }
 
     // UC_006
     @Test
-    public void testUpdateAvatarWithInvalidFileType() {
-        MultipartFile mockFile = mock(MultipartFile.class);
-        when(mockFile.isEmpty()).thenReturn(false);
-        when(mockFile.getContentType()).thenReturn("text/plain");
+    public void testUpdateAvatarWithInvalidFileType() throws IOException {
+        when(userRepository.findById(Long.valueOf(1L))).thenReturn(Optional.of(testUser));
+        when(fileStorageService.storeAvatar(any(InputStream.class), eq(testUsername)))
+            .thenThrow(new UploadRejectedException("Invalid file type. Only JPEG/PNG images are allowed"));
 
-        ResponseEntity<?> response = userController.updateAvatar(1L, mockFile);
+        ResponseEntity<?> response = userController.updateAvatar(1L, avatarUpload("test-image".getBytes(StandardCharsets.UTF_8)));
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
-        assertEquals("Only JPEG/PNG images allowed", response.getBody());
+        assertEquals("Invalid file type. Only JPEG/PNG images are allowed", response.getBody());
+        verify(userRepository, never()).save(any());
     }
 
     // UC_007
@@ -166,6 +185,7 @@ class UserControllerTest {
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Password changed successfully", response.getBody());
         verify(emailService).sendPasswordChangeNotification(testUser);
+        verify(userCache).removeUserFromCache(testUser.getEmail());
     }
 
     // UC_008
@@ -200,4 +220,30 @@ class UserControllerTest {
         });
     }
 
+    // UC_010
+    @Test
+    public void testUpdateAvatarWithOversizedRequest() throws IOException {
+        ReflectionTestUtils.setField(userController, "maxRequestSize", DataSize.ofBytes(512));
+        when(userRepository.findById(Long.valueOf(1L))).thenReturn(Optional.of(testUser));
+
+        ResponseEntity<?> response = userController.updateAvatar(1L, avatarUpload(new byte[1024]));
+
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, response.getStatusCode());
+        verifyNoInteractions(fileStorageService);
+    }
+
+    private static MockHttpServletRequest avatarUpload(byte[] image) {
+        String boundary = "avatar-boundary";
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"avatar\"; filename=\"avatar.png\"\r\n"
+                + "Content-Type: image/png\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        body.writeBytes(image);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/user-profile/1/avatar");
+        request.setContentType("multipart/form-data; boundary=" + boundary);
+        request.setContent(body.toByteArray());
+        return request;
+    }
 }
@@ -0,0 +1,134 @@
+package com.cpt202.dailyreadingtracker.user;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.cpt202.dailyreadingtracker.admin.AdministrationService;
+import com.cpt202.dailyreadingtracker.config.DataSourceProxyConfig;
+import com.cpt202.dailyreadingtracker.config.HibernateCacheMetrics;
+import com.cpt202.dailyreadingtracker.config.QueryCounter;
+import com.cpt202.dailyreadingtracker.role.Role;
+import com.cpt202.dailyreadingtracker.role.RoleRepository;
+import com.cpt202.dailyreadingtracker.utils.EmailService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+import static com.cpt202.dailyreadingtracker.support.QueryAssertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs outside a test transaction so cache updates happen on commit, as they do in production
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("perf")
+@Import({DataSourceProxyConfig.class, AdministrationService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserSecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private AdministrationService administrationService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @MockitoBean
+    private UserCache userCache;
+
+    private long userId;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+
+        Role userRole = roleRepository.findByName("ROLE_USER").orElseGet(() -> roleRepository.save(new Role("ROLE_USER")));
+        roleRepository.findByName("ROLE_ADMIN").orElseGet(() -> roleRepository.save(new Role("ROLE_ADMIN")));
+
+        User user = new User();
+        user.setUsername("cachedreader");
+        user.setEmail("cachedreader@example.com");
+        user.setPassword("Password123");
+        user.setRoles(new HashSet<>(Set.of(userRole)));
+        userId = userRepository.save(user).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stopQueryCount();
+        userRepository.deleteAll();
+    }
+
+    // L2C_001
+    @Test
+    public void testRepeatedLookupsAreServedFromCache() {
+        userRepository.findById(Long.valueOf(userId));
+        userRepository.findByEmail("cachedreader@example.com");
+
+        resetQueryCount();
+        User byId = userRepository.findById(Long.valueOf(userId)).orElseThrow();
+        User byEmail = userRepository.findByEmail("cachedreader@example.com").orElseThrow();
+        roleRepository.findByName("ROLE_USER").orElseThrow();
+
+        // The inverse verification token association is still resolved by query on every load
+        Set<String> statements = QueryCounter.current().getExecutionsBySql().keySet();
+        assertTrue(statements.stream().allMatch(sql -> sql.contains("from verification_token")),
+                "Users and roles should come from the cache: " + statements);
+        assertEquals("ROLE_USER", byId.getRoles().iterator().next().getName());
+        assertEquals(userId, byEmail.getId());
+    }
+
+    // L2C_002
+    @Test
+    public void testAdministrationWritesInvalidateCachedUsers() {
+        userRepository.findById(Long.valueOf(userId));
+        userRepository.findByEmail("cachedreader@example.com");
+
+        administrationService.promoteUsersToAdmin(List.of(userId));
+        administrationService.freezeUserByIds(List.of(userId));
+
+        User byId = userRepository.findById(Long.valueOf(userId)).orElseThrow();
+        User byEmail = userRepository.findByEmail("cachedreader@example.com").orElseThrow();
+
+        assertTrue(byId.isFreezed());
+        assertEquals(Set.of("ROLE_ADMIN"), byId.getRoles().stream().map(Role::getName).collect(Collectors.toSet()));
+        assertTrue(byEmail.isFreezed());
+    }
+
+    // L2C_003
+    @Test
+    public void testHitRatioIsPublishedPerRegion() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new HibernateCacheMetrics(entityManagerFactory).bindTo(registry);
+
+        userRepository.findById(Long.valueOf(userId));
+        userRepository.findById(Long.valueOf(userId));
+
+        double usersHitRatio = registry.get("app.hibernate.cache.hit.ratio").tag("region", "users").gauge().value();
+        assertTrue(usersHitRatio > 0, "users region hit ratio was " + usersHitRatio);
+        assertNotNull(registry.get("app.hibernate.cache.hit.ratio").tag("region", "query").gauge());
+    }
+}
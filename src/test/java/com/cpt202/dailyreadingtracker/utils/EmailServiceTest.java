@@ -11,8 +11,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.concurrent.Semaphore;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -96,4 +99,19 @@ class EmailServiceTest {
 
         verify(mailSender).send(mimeMessage);
     }
+
+    // ES_006
+    @Test
+    public void testSendGivesUpWhenNoPermitFreesInVirtualThreadMode() {
+        ReflectionTestUtils.setField(emailService, "virtualThreads", true);
+        ReflectionTestUtils.setField(emailService, "maxConcurrentSends", 1);
+        ReflectionTestUtils.setField(emailService, "sendPermitTimeout", Duration.ofMillis(50));
+        emailService.init();
+        ((Semaphore) ReflectionTestUtils.getField(emailService, "sendPermits")).acquireUninterruptibly();
+
+        boolean result = emailService.sendVerificationEmail(testUser, "http://verify.com");
+
+        assertFalse(result);
+        verify(mailSender, never()).send(any(MimeMessage.class));
+    }
 }
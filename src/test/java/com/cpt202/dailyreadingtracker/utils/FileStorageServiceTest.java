@@ -1,27 +1,55 @@
 package com.cpt202.dailyreadingtracker.utils;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
 
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.imageio.ImageIO;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
-import org.springframework.core.io.UrlResource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.cpt202.dailyreadingtracker.user.UserRepository;
+import com.cpt202.dailyreadingtracker.utils.FileStorageService.InvalidAvatarNameException;
+import com.cpt202.dailyreadingtracker.utils.FileStorageService.StoredAvatar;
+import com.cpt202.dailyreadingtracker.utils.UploadInputStream.UploadRejectedException;
+
+@ExtendWith(MockitoExtension.class)
 public class FileStorageServiceTest {
     
     @TempDir
     Path tempDir;
 
+    @Mock
+    private UserRepository userRepository;
+
     private FileStorageService fileStorageService;
     private MultipartFile validImage;
     private MultipartFile largeFile;
@@ -30,11 +58,11 @@ public class FileStorageServiceTest {
 
     @BeforeEach
     void setup() throws Exception {
-        fileStorageService = new FileStorageService(tempDir.toString());
+        fileStorageService = new FileStorageService(tempDir.toString(), userRepository, Duration.ofDays(1));
         fileStorageService.init();
 
         validImage = new MockMultipartFile(
-                "avatar","test.png","image/png", new byte[1024]);
+                "avatar","test.png","image/png", image(400, 300, "png"));
 
         largeFile = new MockMultipartFile(
                 "avatar", "large.png", "image/png", new byte[5 * 1024 * 1024 + 1]);
@@ -49,14 +77,14 @@ public class FileStorageServiceTest {
         String filename = fileStorageService.storeAvatar(validImage, testUsername);
 
         assertNotNull(filename);
-        assertTrue(Files.exists(tempDir.resolve(filename)));
-        assertTrue(filename.contains(testUsername) && filename.endsWith(".png"));
+        assertTrue(Files.exists(fileStorageService.resolveAvatarPath(filename)));
+        assertTrue(filename.matches("[0-9a-f]{64}-256\\.png"));
     }
 
     // FS_002
     @Test
     public void testStoreAvatarWithEmptyFile() throws Exception {
-        assertNull(fileStorageService.storeAvatar(null, testUsername));
+        assertNull(fileStorageService.storeAvatar((MultipartFile) null, testUsername));
     }
 
     // FS_003
@@ -77,18 +105,270 @@ public class FileStorageServiceTest {
     @Test
     public void testLoadAvatarWithExistingFile() throws Exception {
         String filename = fileStorageService.storeAvatar(validImage, testUsername);
-        UrlResource resource = fileStorageService.loadAvatar(filename);
+        StoredAvatar avatar = fileStorageService.openAvatar(filename);
 
-        assertNotNull(resource);
-        assertTrue(resource.exists());
+        assertNotNull(avatar);
+        assertEquals(Files.size(avatar.path()), avatar.size());
+        assertNull(fileStorageService.openAvatar("missing-256.png"));
     }
 
     // FS_006
     @Test
     void testDeleteAvatarWithExistingFile() throws Exception {
         String filename = fileStorageService.storeAvatar(validImage, testUsername);
+        storedDaysAgo(filename, 2);
+        fileStorageService.deleteAvatar(filename);
+
+        assertFalse(Files.exists(fileStorageService.resolveAvatarPath(filename)));
+        assertFalse(Files.exists(fileStorageService.resolveAvatarPath(AvatarSize.MEDIUM.variantOf(filename))));
+    }
+
+    // FS_007
+    @Test
+    public void testStoreAvatarWritesSquareVariants() throws Exception {
+        String filename = fileStorageService.storeAvatar(validImage, testUsername);
+
+        for (AvatarSize size : AvatarSize.values()) {
+            BufferedImage variant = ImageIO.read(fileStorageService.resolveAvatarPath(size.variantOf(filename)).toFile());
+            assertEquals(size.getPixels(), variant.getWidth());
+            assertEquals(size.getPixels(), variant.getHeight());
+        }
+    }
+
+    // FS_008
+    @Test
+    public void testFormatIsTakenFromFileSignature() throws Exception {
+        MultipartFile fakePng = new MockMultipartFile("avatar", "fake.png", "image/png", "<html>not an image</html>".getBytes());
+        MultipartFile mislabelledJpeg = new MockMultipartFile("avatar", "photo.png", "image/png", image(64, 64, "jpeg"));
+
+        assertThrows(IOException.class, () -> fileStorageService.storeAvatar(fakePng, testUsername));
+        assertTrue(fileStorageService.storeAvatar(mislabelledJpeg, testUsername).endsWith("-256.jpeg"));
+    }
+
+    // FS_009
+    @Test
+    public void testVariantNamesOfStoredAvatars() {
+        assertEquals("bob-avatar-id-128.png", AvatarSize.MEDIUM.variantOf("bob-avatar-id-256.png"));
+        assertEquals("bob-avatar-id.png", AvatarSize.MEDIUM.variantOf("bob-avatar-id.png"));
+        assertEquals("bob-avatar-id-48.png", AvatarSize.MEDIUM.variantOf("bob-avatar-id-48.png"));
+        assertEquals("alice-avatar-123e4567-e89b-12d3-a456-426614174000.png",
+                AvatarSize.MEDIUM.variantOf("alice-avatar-123e4567-e89b-12d3-a456-426614174000.png"));
+        assertNull(AvatarSize.MEDIUM.variantOf(null));
+    }
+
+    // FS_010
+    @Test
+    public void testIdenticalImagesAreStoredOnce() throws Exception {
+        String first = fileStorageService.storeAvatar(validImage, testUsername);
+        String second = fileStorageService.storeAvatar(validImage, "otheruser");
+
+        assertEquals(first, second);
+        try (var files = Files.walk(tempDir)) {
+            assertEquals(AvatarSize.values().length, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    // FS_011
+    @Test
+    public void testDeleteAvatarKeepsFileStillInUse() throws Exception {
+        String filename = fileStorageService.storeAvatar(validImage, testUsername);
+        storedDaysAgo(filename, 2);
+        when(userRepository.existsByAvatarFileName(filename)).thenReturn(true);
+
         fileStorageService.deleteAvatar(filename);
 
-        assertFalse(Files.exists(tempDir.resolve(filename)));
+        assertTrue(Files.exists(fileStorageService.resolveAvatarPath(filename)));
+    }
+
+    // FS_012
+    @Test
+    public void testAvatarsAreStoredInHashFanOut() throws Exception {
+        String filename = fileStorageService.storeAvatar(validImage, testUsername);
+
+        Path expected = tempDir.resolve(filename.substring(0, 2)).resolve(filename.substring(2, 4)).resolve(filename);
+        assertEquals(expected, fileStorageService.resolveAvatarPath(filename));
+        assertTrue(Files.exists(expected));
+    }
+
+    // FS_013
+    @Test
+    public void testResolveAvatarPathRejectsTraversal() {
+        assertThrows(InvalidAvatarNameException.class, () -> fileStorageService.resolveAvatarPath("../secret.png"));
+        assertThrows(InvalidAvatarNameException.class, () -> fileStorageService.resolveAvatarPath("ab/cd/file.png"));
+        assertThrows(InvalidAvatarNameException.class, () -> fileStorageService.openAvatar("..%2Fsecret.png"));
+    }
+
+    // FS_014
+    @Test
+    public void testMigrateFlatUploadsMovesLegacyFiles() throws Exception {
+        Files.write(tempDir.resolve("testuser-avatar.png"), image(10, 10, "png"));
+        assertNotNull(fileStorageService.openAvatar("testuser-avatar.png"));
+
+        assertEquals(1, fileStorageService.migrateFlatUploads());
+
+        assertFalse(Files.exists(tempDir.resolve("testuser-avatar.png")));
+        assertTrue(Files.exists(fileStorageService.resolveAvatarPath("testuser-avatar.png")));
+        assertNotNull(fileStorageService.openAvatar("testuser-avatar.png"));
+    }
+
+    // FS_015
+    @Test
+    public void testSmallAvatarsAreServedFromMemoryUntilDeleted() throws Exception {
+        String filename = fileStorageService.storeAvatar(validImage, testUsername);
+        String thumbnail = AvatarSize.MEDIUM.variantOf(filename);
+        StoredAvatar first = fileStorageService.openAvatar(thumbnail);
+
+        assertNotNull(first.content());
+        assertArrayEquals(Files.readAllBytes(first.path()), first.content());
+        assertSame(first, fileStorageService.openAvatar(thumbnail));
+
+        storedDaysAgo(filename, 2);
+        fileStorageService.deleteAvatar(filename);
+
+        assertNull(fileStorageService.openAvatar(thumbnail));
+    }
+
+    // FS_016
+    @Test
+    public void testFakeImageIsRejectedWithoutBeingStored() throws Exception {
+        MultipartFile fake = new MockMultipartFile("avatar", "fake.png", "image/png", "<html>not an image".getBytes());
+
+        assertThrows(UploadRejectedException.class, () -> fileStorageService.storeAvatar(fake, testUsername));
+        assertThrows(UploadRejectedException.class, () -> fileStorageService.storeAvatar(largeFile, testUsername));
+        try (var files = Files.walk(tempDir)) {
+            assertEquals(0, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    // FS_017
+    @Test
+    public void testCollectOrphansRemovesOnlyOldUnreferencedFiles() throws Exception {
+        String kept = fileStorageService.storeAvatar(validImage, testUsername);
+        BufferedImage white = new BufferedImage(200, 200, BufferedImage.TYPE_INT_RGB);
+        white.getGraphics().fillRect(0, 0, 200, 200);
+        ByteArrayOutputStream whitePng = new ByteArrayOutputStream();
+        ImageIO.write(white, "png", whitePng);
+        String orphan = fileStorageService.storeAvatar(
+            new MockMultipartFile("avatar", "other.png", "image/png", whitePng.toByteArray()), "otheruser");
+        Path staleTemp = Files.createTempFile(tempDir, ".upload-", ".tmp");
+        Path unexpected = Files.createFile(tempDir.resolve(".DS_Store"));
+        Instant old = Instant.now().minus(Duration.ofDays(2));
+        try (var files = Files.walk(tempDir)) {
+            for (Path file : files.filter(Files::isRegularFile).toList())
+                Files.setLastModifiedTime(file, FileTime.from(old));
+        }
+        Path recent = Files.write(tempDir.resolve("recent-upload.png"), image(10, 10, "png"));
+        long orphanBytes = 0;
+        for (AvatarSize size : AvatarSize.values())
+            orphanBytes += Files.size(fileStorageService.resolveAvatarPath(size.variantOf(orphan)));
+        long tempBytes = Files.size(staleTemp);
+        when(userRepository.findAvatarFileNamesIn(anyCollection())).thenReturn(List.of(kept));
+
+        FileStorageService.OrphanSweep sweep = fileStorageService.collectOrphans(Instant.now().minus(Duration.ofDays(1)), 2);
+
+        assertEquals(AvatarSize.values().length + 1, sweep.deleted());
+        assertEquals(orphanBytes + tempBytes, sweep.reclaimedBytes());
+        for (AvatarSize size : AvatarSize.values()) {
+            assertTrue(Files.exists(fileStorageService.resolveAvatarPath(size.variantOf(kept))));
+            assertFalse(Files.exists(fileStorageService.resolveAvatarPath(size.variantOf(orphan))));
+        }
+        assertFalse(Files.exists(staleTemp));
+        assertTrue(Files.exists(unexpected));
+        assertTrue(Files.exists(recent));
+    }
+
+    // FS_018
+    @Test
+    public void testJpegIsTurnedUprightFromExifOrientation() throws Exception {
+        // Stored landscape, red on the left and blue on the right, with orientation 6 (rotate 90 degrees clockwise)
+        BufferedImage landscape = new BufferedImage(64, 32, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = landscape.createGraphics();
+        graphics.setColor(Color.RED);
+        graphics.fillRect(0, 0, 32, 32);
+        graphics.setColor(Color.BLUE);
+        graphics.fillRect(32, 0, 32, 32);
+        graphics.dispose();
+        MultipartFile photo = new MockMultipartFile("avatar", "photo.jpeg", "image/jpeg", withExifOrientation(landscape, 6));
+
+        String filename = fileStorageService.storeAvatar(photo, testUsername);
+        BufferedImage variant = ImageIO.read(fileStorageService.resolveAvatarPath(filename).toFile());
+
+        // Upright, the red half is on top; left as stored, it would be on the left
+        assertTrue(isMostly(variant.getRGB(200, 20), Color.RED));
+        assertTrue(isMostly(variant.getRGB(56, 236), Color.BLUE));
+    }
+
+    // FS_019
+    @Test
+    public void testDeleteKeepsAvatarReusedByAnotherUpload() throws Exception {
+        String filename = fileStorageService.storeAvatar(validImage, testUsername);
+        storedDaysAgo(filename, 2);
+
+        // Another user uploads the same image and has not been saved yet when the first one replaces it
+        assertEquals(filename, fileStorageService.storeAvatar(validImage, "otheruser"));
+        fileStorageService.deleteAvatar(filename);
+
+        for (AvatarSize size : AvatarSize.values())
+            assertTrue(Files.exists(fileStorageService.resolveAvatarPath(size.variantOf(filename))));
+    }
+
+    // FS_020
+    @Test
+    public void testStoreAvatarFromStreamStopsReadingAtSignature() throws Exception {
+        AtomicLong bytesSent = new AtomicLong();
+        InputStream upload = new InputStream() {
+            @Override
+            public int read() {
+                bytesSent.incrementAndGet();
+                return 0;
+            }
+        };
+
+        // An endless upload that is not an image is refused after the first buffer, not read to the size limit
+        assertThrows(UploadRejectedException.class, () -> fileStorageService.storeAvatar(upload, testUsername));
+        assertTrue(bytesSent.get() <= 8192);
+
+        assertNull(fileStorageService.storeAvatar(InputStream.nullInputStream(), testUsername));
+    }
+
+    private void storedDaysAgo(String filename, int days) throws IOException {
+        FileTime time = FileTime.from(Instant.now().minus(Duration.ofDays(days)));
+        for (AvatarSize size : AvatarSize.values())
+            Files.setLastModifiedTime(fileStorageService.resolveAvatarPath(size.variantOf(filename)), time);
+    }
+
+    private static byte[] image(int width, int height, String format) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), format, bytes);
+        return bytes.toByteArray();
+    }
+
+    // Inserts an Exif APP1 segment with only an orientation tag right after the JFIF APP0 segment
+    private static byte[] withExifOrientation(BufferedImage image, int orientation) throws IOException {
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", jpeg);
+        byte[] bytes = jpeg.toByteArray();
+
+        byte[] exif = {
+            'E', 'x', 'i', 'f', 0, 0,
+            'M', 'M', 0, 42, 0, 0, 0, 8,
+            0, 1,
+            0x01, 0x12, 0, 3, 0, 0, 0, 1, 0, (byte) orientation, 0, 0,
+            0, 0, 0, 0
+        };
+        int app0End = 4 + ((bytes[4] & 0xFF) << 8 | (bytes[5] & 0xFF));
+
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        result.write(bytes, 0, app0End);
+        result.write(new byte[] {(byte) 0xFF, (byte) 0xE1, (byte) ((exif.length + 2) >> 8), (byte) (exif.length + 2)});
+        result.write(exif);
+        result.write(bytes, app0End, bytes.length - app0End);
+        return result.toByteArray();
+    }
+
+    private static boolean isMostly(int rgb, Color color) {
+        Color actual = new Color(rgb);
+        return Math.abs(actual.getRed() - color.getRed()) < 60 && Math.abs(actual.getGreen() - color.getGreen()) < 60
+                && Math.abs(actual.getBlue() - color.getBlue()) < 60;
     }
 }
@@ -0,0 +1,73 @@
+package com.cpt202.dailyreadingtracker.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+public class JWTTokenUtilTest {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-256-bits-long";
+
+    private JWTTokenUtil jwtTokenUtil;
+
+    @BeforeEach
+    void setup() {
+        jwtTokenUtil = new JWTTokenUtil();
+        ReflectionTestUtils.setField(jwtTokenUtil, "secretString", SECRET);
+        ReflectionTestUtils.setField(jwtTokenUtil, "expirationMs", 900000L);
+        jwtTokenUtil.init();
+    }
+
+    // JWT_001
+    @Test
+    public void testRepeatedParseReturnsCachedClaims() {
+        String token = jwtTokenUtil.generateToken("reader@example.com");
+
+        Claims first = jwtTokenUtil.parse(token);
+        Claims second = jwtTokenUtil.parse(token);
+
+        assertSame(first, second);
+        assertTrue(jwtTokenUtil.validateToken(token));
+        assertEquals("reader@example.com", jwtTokenUtil.getSubject(token));
+    }
+
+    // JWT_002
+    @Test
+    public void testTamperedTokenIsRejectedAfterValidOneIsCached() {
+        String token = jwtTokenUtil.generateToken("reader@example.com");
+        jwtTokenUtil.parse(token);
+
+        String tampered = token.substring(0, token.length() - 2) + "xx";
+
+        assertFalse(jwtTokenUtil.validateToken(tampered));
+        assertFalse(jwtTokenUtil.validateToken(""));
+        assertFalse(jwtTokenUtil.validateToken(null));
+    }
+
+    // JWT_003
+    @Test
+    public void testExpiredTokenIsRejected() {
+        String expired = Jwts.builder()
+                .subject("reader@example.com")
+                .expiration(new Date(System.currentTimeMillis() - 1000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS256)
+                .compact();
+
+        assertFalse(jwtTokenUtil.validateToken(expired));
+        assertThrows(ExpiredJwtException.class, () -> jwtTokenUtil.parse(expired));
+    }
+}
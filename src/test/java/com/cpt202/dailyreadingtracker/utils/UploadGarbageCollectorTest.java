@@ -0,0 +1,59 @@
+package com.cpt202.dailyreadingtracker.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.cpt202.dailyreadingtracker.utils.FileStorageService.OrphanSweep;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class UploadGarbageCollectorTest {
+
+    @Mock
+    private FileStorageService fileStorageService;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    // UGC_001
+    @Test
+    public void testSweepUsesGracePeriodAndPublishesReclaimedBytes() throws IOException {
+        UploadGarbageCollector collector =
+            new UploadGarbageCollector(fileStorageService, registry, Duration.ofHours(24), 100);
+        when(fileStorageService.collectOrphans(any(), eq(100))).thenReturn(new OrphanSweep(10, 3, 4096));
+
+        collector.sweep();
+
+        ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+        verify(fileStorageService).collectOrphans(cutoff.capture(), eq(100));
+        assertTrue(cutoff.getValue().isBefore(Instant.now().minus(Duration.ofHours(23))));
+        assertEquals(3, registry.get("app.uploads.orphans.deleted").counter().count());
+        assertEquals(4096, registry.get("app.uploads.orphans.reclaimed").counter().count());
+    }
+
+    // UGC_002
+    @Test
+    public void testFailedSweepIsNotCounted() throws IOException {
+        UploadGarbageCollector collector =
+            new UploadGarbageCollector(fileStorageService, registry, Duration.ofHours(24), 100);
+        when(fileStorageService.collectOrphans(any(), eq(100))).thenThrow(new IOException("disk gone"));
+
+        collector.sweep();
+
+        assertEquals(0, registry.get("app.uploads.orphans.reclaimed").counter().count());
+    }
+}
@@ -0,0 +1,75 @@
+package com.cpt202.dailyreadingtracker.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.cpt202.dailyreadingtracker.utils.UploadInputStream.UploadRejectedException;
+
+class UploadInputStreamTest {
+
+    // UIS_001
+    @Test
+    public void testPeekDoesNotConsumeLeadingBytes() throws Exception {
+        byte[] content = {1, 2, 3, 4, 5, 6};
+
+        try (UploadInputStream input = new UploadInputStream(new ByteArrayInputStream(content), 10)) {
+            assertArrayEquals(new byte[] {1, 2, 3}, input.peek(3));
+            assertArrayEquals(content, input.readAllBytes());
+        }
+    }
+
+    // UIS_002
+    @Test
+    public void testReadingStopsOnceLimitIsPassed() throws Exception {
+        CountingInputStream source = new CountingInputStream(new byte[1024 * 1024]);
+
+        try (UploadInputStream input = new UploadInputStream(source, 100_000)) {
+            assertThrows(UploadRejectedException.class, input::readAllBytes);
+        }
+
+        // Only the buffered chunk past the limit was pulled from the source, not the whole upload
+        assertTrue(source.read < 200_000);
+    }
+
+    // UIS_003
+    @Test
+    public void testUploadAtLimitIsAccepted() throws IOException {
+        try (UploadInputStream input = new UploadInputStream(new ByteArrayInputStream(new byte[100]), 100)) {
+            assertEquals(100, input.readAllBytes().length);
+        }
+    }
+
+    private static class CountingInputStream extends InputStream {
+
+        private final ByteArrayInputStream delegate;
+        private long read;
+
+        CountingInputStream(byte[] content) {
+            this.delegate = new ByteArrayInputStream(content);
+        }
+
+        @Override
+        public int read() {
+            int value = delegate.read();
+            if (value != -1)
+                read++;
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            int count = delegate.read(buffer, offset, length);
+            if (count > 0)
+                read += count;
+            return count;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.cpt202.dailyreadingtracker.violationlog;
 
+import com.cpt202.dailyreadingtracker.admin.AdminEventService;
 import com.cpt202.dailyreadingtracker.readinglog.ReadingLog;
 import com.cpt202.dailyreadingtracker.readinglog.ReadingLogRepository;
 import com.cpt202.dailyreadingtracker.role.Role;
@@ -38,6 +39,9 @@ class ViolationLogServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private AdminEventService adminEventService;
+
     @InjectMocks
     private ViolationLogService violationLogService;
 